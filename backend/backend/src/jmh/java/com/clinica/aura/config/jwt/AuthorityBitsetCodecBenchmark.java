@@ -0,0 +1,60 @@
+package com.clinica.aura.config.jwt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodificación de las autoridades del JWT: bitset del claim {@code ab} con
+ * {@link AuthorityBitsetCodec} contra el claim {@code authorities} separado por comas de los tokens
+ * anteriores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorityBitsetCodecBenchmark {
+
+    private AuthorityBitsetCodec codec;
+    private List<GrantedAuthority> authorities;
+    private String commaSeparated;
+    private long bits;
+
+    @Setup
+    public void setUp() {
+        codec = new AuthorityBitsetCodec();
+        authorities = AuthorityUtils.createAuthorityList("ROLE_ADMIN", "CREATE", "READ", "UPDATE", "DELETE");
+        commaSeparated = String.join(",", AuthorityUtils.authorityListToSet(authorities));
+        bits = codec.encode(authorities);
+        codec.decode(bits);
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> decodeBitset() {
+        return codec.decode(bits);
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> decodeCommaSeparated() {
+        return List.copyOf(AuthorityUtils.commaSeparatedStringToAuthorityList(commaSeparated));
+    }
+
+    @Benchmark
+    public Long encodeBitset() {
+        return codec.encode(authorities);
+    }
+}
@@ -0,0 +1,76 @@
+package com.clinica.aura.config.jwt;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por solicitud de autenticar el JWT de la cookie: verificación completa (firma RS256 y
+ * parseo de claims, lo que se hacía en cada solicitud antes de {@link JwtVerificationCache}) contra
+ * un acierto de la cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationCacheBenchmark {
+
+    private JwtUtils jwtUtils;
+    private AuthorityBitsetCodec authorityBitsetCodec;
+    private JwtVerificationCache cache;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        authorityBitsetCodec = new AuthorityBitsetCodec();
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(JwtKeyProvider.DEV_PROFILE);
+        JwtKeyProvider keyProvider = new JwtKeyProvider(new DefaultResourceLoader(), environment, "", "", "");
+        jwtUtils = new JwtUtils(authorityBitsetCodec, keyProvider);
+        ReflectionTestUtils.setField(jwtUtils, "SECRET_USER_KEY", "aura-benchmark");
+        ReflectionTestUtils.setField(jwtUtils, "EXPIRATION_TIME", TimeUnit.HOURS.toMillis(1));
+        jwtUtils.init();
+
+        cache = new JwtVerificationCache(jwtUtils, authorityBitsetCodec, new SimpleMeterRegistry(), 10_000);
+
+        var authorities = AuthorityUtils.createAuthorityList("ROLE_PROFESSIONAL", "READ", "UPDATE");
+        var user = new User("profesional@aura.com", "", authorities);
+        token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, authorities), 1L, 1L);
+        cache.verify(token);
+    }
+
+    @Benchmark
+    public void fullVerification(Blackhole blackhole) {
+        DecodedJWT decoded = jwtUtils.validateToken(token);
+        blackhole.consume(jwtUtils.extractUsername(decoded));
+        blackhole.consume(jwtUtils.getSpecificClaim(decoded, JwtUtils.USER_ID_CLAIM).asLong());
+        blackhole.consume(jwtUtils.getSpecificClaim(decoded, JwtUtils.PROFESSIONAL_ID_CLAIM).asLong());
+        blackhole.consume(authorityBitsetCodec.decode(
+                jwtUtils.getSpecificClaim(decoded, AuthorityBitsetCodec.CLAIM).asLong()));
+    }
+
+    @Benchmark
+    public VerifiedJwt cachedVerification() {
+        return cache.verify(token);
+    }
+}
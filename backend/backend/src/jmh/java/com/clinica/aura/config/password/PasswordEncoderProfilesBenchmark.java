@@ -0,0 +1,60 @@
+package com.clinica.aura.config.password;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de generar y verificar un hash con cada perfil de {@link PasswordEncoderProfiles}, para
+ * elegir {@code security.password.profile} según el hardware. Se mide en modo muestreo para ver los
+ * percentiles, igual que la métrica {@code auth.password.hash}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderProfilesBenchmark {
+
+    private static final String PASSWORD = "Aura-benchmark-2024";
+
+    @Param({
+            PasswordEncoderProfiles.BCRYPT_10,
+            PasswordEncoderProfiles.BCRYPT_12,
+            PasswordEncoderProfiles.BCRYPT_14,
+            PasswordEncoderProfiles.ARGON2,
+            PasswordEncoderProfiles.PBKDF2
+    })
+    public String profile;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = PasswordEncoderProfiles.delegating(profile);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
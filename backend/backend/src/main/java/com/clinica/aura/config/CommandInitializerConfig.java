@@ -9,6 +9,7 @@ import com.clinica.aura.modules.user_account.models.UserModel;
 import com.clinica.aura.modules.user_account.repository.PermissionRepository;
 import com.clinica.aura.modules.user_account.repository.RoleRepository;
 import com.clinica.aura.modules.user_account.repository.UserRepository;
+import com.clinica.aura.modules.user_account.service.impl.AuthorityRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +26,7 @@ public class CommandInitializerConfig implements CommandLineRunner {
     private final PermissionRepository permissionRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthorityRegistry authorityRegistry;
 
     @Override
     public void run(String... args) throws Exception {
@@ -80,6 +82,8 @@ public class CommandInitializerConfig implements CommandLineRunner {
 
             System.out.println("✅ Admin user created.");
         }
+
+        authorityRegistry.reload();
     }
 }
 
@@ -0,0 +1,168 @@
+package com.clinica.aura.config;
+
+import com.clinica.aura.util.SearchText;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Objetos de base de datos específicos de PostgreSQL que {@code ddl-auto=update} no puede crear.
+ * <ul>
+ *     <li>La extensión {@code pg_trgm} y el índice GIN de trigramas sobre {@code person.search_name},
+ *     que permiten buscar por similitud y por subcadena sin recorrer la tabla.</li>
+ *     <li>Índices de expresión ({@code lower(...)}) para los filtros de pacientes y
+ *     {@code (COALESCE(last_name, ''), id)} para el listado paginado por cursor.</li>
+ *     <li>Los triggers que mantienen {@code professional.caseload_count} (pacientes activos
+ *     asignados a cada profesional).</li>
+ *     <li>El completado de {@code search_name} en las filas creadas antes de existir la columna.</li>
+ * </ul>
+ * Todas las sentencias son idempotentes. Si la extensión no puede instalarse (por ejemplo, por falta
+ * de permisos) la búsqueda por nombre sigue funcionando por subcadena, sin ranking por similitud.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostgresSchemaInitializer implements CommandLineRunner {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final String CASELOAD_ASSIGNMENT_FUNCTION = """
+            CREATE OR REPLACE FUNCTION professional_caseload_on_assignment() RETURNS trigger AS $$
+            BEGIN
+                IF TG_OP = 'INSERT' THEN
+                    UPDATE professional SET caseload_count = caseload_count + 1
+                     WHERE id = NEW.professional_id
+                       AND EXISTS (SELECT 1 FROM patients WHERE id = NEW.patient_id AND deleted = false);
+                ELSE
+                    UPDATE professional SET caseload_count = caseload_count - 1
+                     WHERE id = OLD.professional_id
+                       AND EXISTS (SELECT 1 FROM patients WHERE id = OLD.patient_id AND deleted = false);
+                END IF;
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql
+            """;
+    private static final String CASELOAD_PATIENT_STATUS_FUNCTION = """
+            CREATE OR REPLACE FUNCTION professional_caseload_on_patient_status() RETURNS trigger AS $$
+            BEGIN
+                IF NEW.deleted IS DISTINCT FROM OLD.deleted THEN
+                    UPDATE professional pr
+                       SET caseload_count = pr.caseload_count + CASE WHEN NEW.deleted THEN -1 ELSE 1 END
+                      FROM professional_patient pp
+                     WHERE pp.patient_id = NEW.id AND pr.id = pp.professional_id;
+                END IF;
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql
+            """;
+    private static final String RECONCILE_CASELOAD_COUNTS = """
+            UPDATE professional pr
+               SET caseload_count = c.total
+              FROM (SELECT pp.professional_id, count(*) AS total
+                      FROM professional_patient pp
+                      JOIN patients p ON p.id = pp.patient_id AND p.deleted = false
+                     GROUP BY pp.professional_id) c
+             WHERE pr.id = c.professional_id AND pr.caseload_count <> c.total
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean trigramEnabled;
+
+    @Override
+    public void run(String... args) {
+        trigramEnabled = createTrigramIndex();
+        createExpressionIndexes();
+        createCaseloadCounters();
+        backfillSearchNames();
+    }
+
+    /**
+     * Indica si {@code pg_trgm} está disponible para ordenar búsquedas por similitud.
+     */
+    public boolean isTrigramEnabled() {
+        return trigramEnabled;
+    }
+
+    private boolean createTrigramIndex() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_person_search_name_trgm "
+                    + "ON person USING gin (search_name gin_trgm_ops)");
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("No se pudo habilitar pg_trgm; la búsqueda por nombre no ordenará por similitud: {}",
+                    e.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Índices sobre {@code lower(...)} para los filtros de pacientes que no distinguen mayúsculas
+     * (ver {@code PatientSpecifications}) y sobre la clave de orden por apellido de la paginación
+     * keyset, que trata los apellidos nulos como vacíos; {@code @Index} solo admite columnas. Este
+     * último reemplaza a {@code idx_person_last_name_id}, que no servía para esa clave.
+     */
+    private void createExpressionIndexes() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_person_last_name_key_id "
+                + "ON person ((COALESCE(last_name, '')), id)");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_person_last_name_id");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_patients_insurance_name_lower "
+                + "ON patients (lower(insurance_name), id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_patients_insurance_plan_lower "
+                + "ON patients (lower(insurance_plan), id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_patients_genre_lower "
+                + "ON patients (lower(genre), id)");
+    }
+
+    /**
+     * Triggers que mantienen {@code professional.caseload_count} al asignar o desasignar pacientes
+     * y al dar de baja o reactivar un paciente, de modo que el tamaño de la cartera se lee sin
+     * contar filas. Al iniciar se corrigen los contadores que no coincidan (por ejemplo, los de
+     * filas anteriores a la columna).
+     */
+    private void createCaseloadCounters() {
+        jdbcTemplate.execute(CASELOAD_ASSIGNMENT_FUNCTION);
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_professional_caseload_assignment ON professional_patient");
+        jdbcTemplate.execute("CREATE TRIGGER trg_professional_caseload_assignment "
+                + "AFTER INSERT OR DELETE ON professional_patient "
+                + "FOR EACH ROW EXECUTE FUNCTION professional_caseload_on_assignment()");
+
+        jdbcTemplate.execute(CASELOAD_PATIENT_STATUS_FUNCTION);
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_professional_caseload_patient_status ON patients");
+        jdbcTemplate.execute("CREATE TRIGGER trg_professional_caseload_patient_status "
+                + "AFTER UPDATE OF deleted ON patients "
+                + "FOR EACH ROW EXECUTE FUNCTION professional_caseload_on_patient_status()");
+
+        jdbcTemplate.update(RECONCILE_CASELOAD_COUNTS);
+        jdbcTemplate.update("UPDATE professional pr SET caseload_count = 0 WHERE pr.caseload_count <> 0 "
+                + "AND NOT EXISTS (SELECT 1 FROM professional_patient pp JOIN patients p ON p.id = pp.patient_id "
+                + "AND p.deleted = false WHERE pp.professional_id = pr.id)");
+    }
+
+    private void backfillSearchNames() {
+        int updated = 0;
+        List<Object[]> batch;
+        do {
+            batch = jdbcTemplate.query(
+                    "SELECT id, name, last_name FROM person WHERE search_name IS NULL "
+                            + "AND (name IS NOT NULL OR last_name IS NOT NULL) ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{
+                            SearchText.fold(rs.getString("name"), rs.getString("last_name")), rs.getLong("id")},
+                    BACKFILL_BATCH_SIZE);
+            // Un nombre formado solo por signos se normaliza a null; se guarda vacío para no volver a leerlo.
+            batch.forEach(row -> row[0] = row[0] == null ? "" : row[0]);
+            jdbcTemplate.batchUpdate("UPDATE person SET search_name = ? WHERE id = ?", batch);
+            updated += batch.size();
+        } while (batch.size() == BACKFILL_BATCH_SIZE);
+
+        if (updated > 0) {
+            log.info("search_name completado en {} personas", updated);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.clinica.aura.config;
 
 import com.clinica.aura.config.filters.JwtTokenValidator;
-import com.clinica.aura.config.jwt.JwtUtils;
+import com.clinica.aura.config.jwt.JwtVerificationCache;
+import com.clinica.aura.config.jwt.TokenRevocationList;
+import com.clinica.aura.config.password.BoundedPasswordEncoder;
+import com.clinica.aura.config.password.PasswordEncoderProfiles;
+import com.clinica.aura.modules.user_account.service.impl.SuspendedUserRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -17,7 +23,6 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
@@ -34,7 +39,9 @@ import org.springframework.web.filter.CorsFilter;
         jsr250Enabled = true)
 public class SecurityConfig {
 
-    private final JwtUtils jwtUtils;
+    private final JwtVerificationCache jwtVerificationCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final SuspendedUserRegistry suspendedUserRegistry;
     private final CustomAccessDeniedHandler accessDeniedHandler;
     private final CustomAuthenticationEntryPoint entryPoint;
 
@@ -75,6 +82,7 @@ public class SecurityConfig {
      *    - POST /auth/professional/register: Registro de profesionales
      *    - POST /auth/receptionist/register: Registro de recepcionistas
      *    - Swagger UI y documentación: Acceso público para documentación API
+     *    - GET /.well-known/jwks.json: Claves públicas para verificar tokens JWT
      * 4. Rutas protegidas: Todas las demás rutas requieren autenticación
      * 5. Manejo de excepciones:
      *    - authenticationEntryPoint: Manejador de errores de autenticación
@@ -99,6 +107,7 @@ public class SecurityConfig {
                                         "/webjars/**"
                                 ).permitAll()
                                 .requestMatchers(HttpMethod.POST,"/auth/receptionist/register").permitAll()
+                                .requestMatchers(HttpMethod.GET,"/.well-known/jwks.json").permitAll()
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(exception -> exception
@@ -108,7 +117,7 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .addFilterBefore(new JwtTokenValidator(jwtUtils), BasicAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenValidator(jwtVerificationCache, tokenRevocationList, suspendedUserRegistry), BasicAuthenticationFilter.class)
                 .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin));
 
         return http.build();
@@ -147,10 +156,11 @@ public class SecurityConfig {
      * 3. Proporcionar los detalles de usuario necesarios para la seguridad
      */
     @Bean
-    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService) {
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailsService);
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
         return authenticationProvider;
     }
 
@@ -167,10 +177,19 @@ public class SecurityConfig {
      * 4. Permite comparación segura de contraseñas en la autenticación
      *
      * Nota: BCrypt es un algoritmo recomendado por su resistencia a ataques de fuerza bruta
+     *
+     * El hash se ejecuta en un pool acotado (ver {@link BoundedPasswordEncoder}) para que los
+     * picos de inicio de sesión no ocupen los hilos de Tomcat; si la cola se llena se responde 429.
+     * El algoritmo y costo de los hashes nuevos se elige con {@code security.password.profile}
+     * (ver {@link PasswordEncoderProfiles}).
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password.profile:bcrypt12}") String profile,
+                                           @Value("${security.password.executor.threads:0}") int threads,
+                                           @Value("${security.password.executor.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(PasswordEncoderProfiles.delegating(profile), poolSize, queueCapacity, meterRegistry);
     }
 
 
@@ -1,17 +1,21 @@
 package com.clinica.aura.config.filters;
 
-import com.auth0.jwt.interfaces.DecodedJWT;
-import com.clinica.aura.config.jwt.JwtUtils;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.clinica.aura.config.jwt.AuthenticatedUser;
+import com.clinica.aura.config.jwt.JwtVerificationCache;
+import com.clinica.aura.config.jwt.TokenRevocationList;
+import com.clinica.aura.config.jwt.VerifiedJwt;
+import com.clinica.aura.modules.user_account.service.impl.SuspendedUserRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -20,10 +24,16 @@ import java.util.Collection;
 
 
 public class JwtTokenValidator extends OncePerRequestFilter {
-    private final JwtUtils jwtUtils;
-
-    public JwtTokenValidator(JwtUtils jwtUtils) {
-        this.jwtUtils = jwtUtils;
+    private final JwtVerificationCache jwtVerificationCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final SuspendedUserRegistry suspendedUserRegistry;
+
+    public JwtTokenValidator(JwtVerificationCache jwtVerificationCache,
+                             TokenRevocationList tokenRevocationList,
+                             SuspendedUserRegistry suspendedUserRegistry) {
+        this.jwtVerificationCache = jwtVerificationCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.suspendedUserRegistry = suspendedUserRegistry;
     }
 
     @Override
@@ -67,31 +77,41 @@ public class JwtTokenValidator extends OncePerRequestFilter {
     /**
      * Procesa el token JWT extraído de las cookies.
      *
+     * Si el mismo token ya fue verificado y no expiró, se reutiliza el resultado
+     * cacheado sin volver a comprobar la firma. Los tokens revocados (por ejemplo,
+     * tras un logout) se rechazan aunque todavía no hayan expirado.
+     * Tampoco se aceptan tokens de usuarios suspendidos (ver {@link SuspendedUserRegistry}).
+     *
      * @param jwtToken el token JWT extraído
      */
 
     private void processJwtToken(String jwtToken) {
-        DecodedJWT decodedJWT = jwtUtils.validateToken(jwtToken);
+        VerifiedJwt verifiedJwt = jwtVerificationCache.verify(jwtToken);
+
+        if (tokenRevocationList.isRevoked(verifiedJwt.getJti())) {
+            throw new JWTVerificationException("Token revocado, inicie sesión nuevamente");
+        }
 
-        String username = jwtUtils.extractUsername(decodedJWT);
-        String authorities = jwtUtils.getSpecificClaim(decodedJWT, "authorities").asString();
+        if (suspendedUserRegistry.isSuspended(verifiedJwt.getUsername())) {
+            throw new DisabledException("Usuario suspendido hasta: "
+                    + suspendedUserRegistry.getSuspensionEnd(verifiedJwt.getUsername()));
+        }
 
-        setSecurityContext(username, authorities);
+        AuthenticatedUser principal = new AuthenticatedUser(
+                verifiedJwt.getUserId(), verifiedJwt.getUsername(), verifiedJwt.getProfessionalId());
+        setSecurityContext(principal, verifiedJwt.getAuthorities());
     }
 
     /**
      * Establece el contexto de seguridad con la información del usuario autenticado.
      *
-     * @param username el nombre de usuario autenticado
+     * @param principal el usuario autenticado, armado a partir de los claims del token
      * @param authorities las autoridades del usuario autenticado
      */
 
-    private void setSecurityContext(String username, String authorities) {
-        Collection<? extends GrantedAuthority> grantedAuthorities =
-                AuthorityUtils.commaSeparatedStringToAuthorityList(authorities);
-
+    private void setSecurityContext(AuthenticatedUser principal, Collection<? extends GrantedAuthority> grantedAuthorities) {
         Authentication authentication = new UsernamePasswordAuthenticationToken(
-                username,
+                principal,
                 null,
                 grantedAuthorities
         );
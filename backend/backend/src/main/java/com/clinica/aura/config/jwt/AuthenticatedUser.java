@@ -0,0 +1,37 @@
+package com.clinica.aura.config.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.io.Serializable;
+
+/**
+ * Principal liviano que {@code JwtTokenValidator} guarda en el contexto de seguridad.
+ * <p>
+ * Se arma solo con los claims del token, por lo que identificar al usuario (o al profesional)
+ * que hace la solicitud no requiere consultar la base de datos.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements AuthenticatedPrincipal, Serializable {
+
+    /** Id del usuario (claim {@code uid}); null en tokens emitidos antes de agregar el claim. */
+    private final Long userId;
+
+    /** Email del usuario (subject del token). */
+    private final String username;
+
+    /** Id del profesional (claim {@code pid}); null si el usuario no es profesional. */
+    private final Long professionalId;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
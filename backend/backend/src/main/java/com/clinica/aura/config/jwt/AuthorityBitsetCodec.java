@@ -0,0 +1,89 @@
+package com.clinica.aura.config.jwt;
+
+import com.clinica.aura.modules.user_account.Enum.EnumPermission;
+import com.clinica.aura.modules.user_account.Enum.EnumRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codifica las autoridades de un usuario como un bitset compacto para el claim {@code ab} del JWT.
+ * <p>
+ * Los bits 0 a 31 representan los ordinales de {@link EnumRole} (como {@code ROLE_<nombre>}) y
+ * los bits 32 a 63 los ordinales de {@link EnumPermission}. Como la cantidad de combinaciones
+ * distintas es muy pequeña, cada bitset se decodifica una sola vez a una lista inmutable de
+ * {@link GrantedAuthority} que se comparte entre todas las solicitudes.
+ * <p>
+ * Importante: los ordinales forman parte del formato del token, por lo que los valores nuevos
+ * de los enums deben agregarse siempre al final.
+ */
+@Component
+public class AuthorityBitsetCodec {
+
+    public static final String CLAIM = "ab";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final int PERMISSION_OFFSET = 32;
+
+    private final Map<Long, List<GrantedAuthority>> decoded = new ConcurrentHashMap<>();
+
+    /**
+     * Codifica las autoridades como bitset.
+     *
+     * @param authorities autoridades del usuario autenticado
+     * @return el bitset, o null si alguna autoridad no corresponde a un rol o permiso conocido
+     */
+    public Long encode(Collection<? extends GrantedAuthority> authorities) {
+        long bits = 0L;
+        for (GrantedAuthority authority : authorities) {
+            int bit = bitOf(authority.getAuthority());
+            if (bit < 0) {
+                return null;
+            }
+            bits |= 1L << bit;
+        }
+        return bits;
+    }
+
+    /**
+     * Decodifica un bitset a la lista inmutable y cacheada de autoridades.
+     *
+     * @param bits el valor del claim {@code ab}
+     * @return roles (con prefijo ROLE_) seguidos de permisos
+     */
+    public List<GrantedAuthority> decode(long bits) {
+        return decoded.computeIfAbsent(bits, AuthorityBitsetCodec::toAuthorities);
+    }
+
+    private static List<GrantedAuthority> toAuthorities(long bits) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (EnumRole role : EnumRole.values()) {
+            if ((bits & (1L << role.ordinal())) != 0) {
+                authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + role.name()));
+            }
+        }
+        for (EnumPermission permission : EnumPermission.values()) {
+            if ((bits & (1L << (PERMISSION_OFFSET + permission.ordinal()))) != 0) {
+                authorities.add(new SimpleGrantedAuthority(permission.name()));
+            }
+        }
+        return List.copyOf(authorities);
+    }
+
+    private static int bitOf(String authority) {
+        try {
+            if (authority.startsWith(ROLE_PREFIX)) {
+                return EnumRole.valueOf(authority.substring(ROLE_PREFIX.length())).ordinal();
+            }
+            return PERMISSION_OFFSET + EnumPermission.valueOf(authority).ordinal();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
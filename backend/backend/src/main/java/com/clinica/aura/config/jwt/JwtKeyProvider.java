@@ -0,0 +1,130 @@
+package com.clinica.aura.config.jwt;
+
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Claves RSA para firmar (RS256) y verificar los tokens JWT.
+ * <p>
+ * Las claves se leen de un keystore PKCS12 local ({@code jwt.keystore.location}). El alias de
+ * cada entrada se usa como {@code kid} del token:
+ * <ul>
+ *     <li>la entrada {@code jwt.keystore.active-alias} (clave privada) firma los tokens nuevos;</li>
+ *     <li>todas las entradas, incluidas las que solo tienen certificado, verifican tokens.</li>
+ * </ul>
+ * Para rotar se agrega la clave nueva al keystore, se la activa y se conserva la anterior como
+ * certificado hasta que expiren los tokens que firmó; nadie pierde la sesión.
+ * <p>
+ * Sin keystore la aplicación no inicia, salvo con el perfil {@value #DEV_PROFILE}: ahí se genera un
+ * par de claves efímero al iniciar (una única instancia; los tokens dejan de ser válidos al
+ * reiniciar).
+ */
+@Slf4j
+@Component
+public class JwtKeyProvider implements RSAKeyProvider {
+
+    static final String DEV_PROFILE = "dev";
+
+    private final String activeKeyId;
+    private final RSAPrivateKey signingKey;
+    private final Map<String, RSAPublicKey> verificationKeys;
+
+    public JwtKeyProvider(ResourceLoader resourceLoader,
+                          Environment environment,
+                          @Value("${jwt.keystore.location:}") String location,
+                          @Value("${jwt.keystore.password:}") String password,
+                          @Value("${jwt.keystore.active-alias:}") String activeAlias) throws GeneralSecurityException, IOException {
+
+        Map<String, RSAPublicKey> publicKeys = new LinkedHashMap<>();
+
+        if (location == null || location.isBlank()) {
+            if (!environment.acceptsProfiles(Profiles.of(DEV_PROFILE))) {
+                throw new IllegalStateException("jwt.keystore.location es obligatorio; la clave efímera solo se admite "
+                        + "con el perfil " + DEV_PROFILE);
+            }
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+
+            this.activeKeyId = "ephemeral-" + UUID.randomUUID().toString().substring(0, 8);
+            this.signingKey = (RSAPrivateKey) keyPair.getPrivate();
+            publicKeys.put(activeKeyId, (RSAPublicKey) keyPair.getPublic());
+            log.warn("jwt.keystore.location no configurado: se usa una clave RSA efímera ({})", activeKeyId);
+        } else {
+            char[] secret = password.toCharArray();
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            Resource resource = resourceLoader.getResource(location);
+            try (InputStream in = resource.getInputStream()) {
+                keyStore.load(in, secret);
+            }
+
+            Enumeration<String> aliases = keyStore.aliases();
+            while (aliases.hasMoreElements()) {
+                String alias = aliases.nextElement();
+                Certificate certificate = keyStore.getCertificate(alias);
+                if (certificate != null && certificate.getPublicKey() instanceof RSAPublicKey publicKey) {
+                    publicKeys.put(alias, publicKey);
+                }
+            }
+
+            Key key = keyStore.getKey(activeAlias, secret);
+            if (!(key instanceof RSAPrivateKey privateKey) || !publicKeys.containsKey(activeAlias)) {
+                throw new IllegalStateException("El keystore no contiene una clave RSA privada con el alias " + activeAlias);
+            }
+            this.activeKeyId = activeAlias;
+            this.signingKey = privateKey;
+            log.info("Claves JWT cargadas: firma con '{}', verificación con {}", activeAlias, publicKeys.keySet());
+        }
+
+        this.verificationKeys = Collections.unmodifiableMap(publicKeys);
+    }
+
+    @Override
+    public RSAPublicKey getPublicKeyById(String keyId) {
+        if (keyId == null) {
+            return verificationKeys.get(activeKeyId);
+        }
+        return verificationKeys.get(keyId);
+    }
+
+    @Override
+    public RSAPrivateKey getPrivateKey() {
+        return signingKey;
+    }
+
+    @Override
+    public String getPrivateKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Claves públicas vigentes para verificar tokens, indexadas por {@code kid}.
+     *
+     * @return mapa inmutable kid -> clave pública
+     */
+    public Map<String, RSAPublicKey> getVerificationKeys() {
+        return verificationKeys;
+    }
+}
@@ -1,34 +1,101 @@
 package com.clinica.aura.config.jwt;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.interfaces.JWTVerifier;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtUtils {
-    @Value("${jwt.secret.key}")
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String PROFESSIONAL_ID_CLAIM = "pid";
+
+    private final AuthorityBitsetCodec authorityBitsetCodec;
+    private final JwtKeyProvider jwtKeyProvider;
+
+    @Value("${jwt.secret.key:}")
     private String SECRET_KEY;
 
+    @Value("${jwt.legacy-hmac.enabled:false}")
+    private boolean legacyHmacEnabled;
+
+    @Value("${jwt.legacy-hmac.cutover:}")
+    private String legacyHmacCutover;
+
     @Value("${jwt.secret.user.key}")
     private String SECRET_USER_KEY;
 
     @Value("${jwt.expiration.time}")
     private long EXPIRATION_TIME;
 
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+    private JWTVerifier legacyVerifier;
+    private Instant legacyCutover;
+    private Instant legacyAcceptedUntil;
+
+    /**
+     * Construye una única vez el algoritmo RS256 y los verificadores de tokens.
+     * Los objetos son inmutables y seguros para usarse desde varios hilos,
+     * por lo que se comparten entre todas las solicitudes.
+     * <p>
+     * Los tokens se firman con la clave activa de {@link JwtKeyProvider} y llevan su {@code kid}
+     * en el encabezado; se verifican con cualquiera de las claves publicadas.
+     * <p>
+     * Con {@code jwt.legacy-hmac.enabled} (desactivado por defecto) también se aceptan los tokens
+     * HS256 firmados con {@code jwt.secret.key}, pero solo los emitidos antes de
+     * {@code jwt.legacy-hmac.cutover} y solo hasta {@code cutover + jwt.expiration.time}, cuando ya
+     * expiraron todos. Pasado ese plazo el verificador HS256 no se crea.
+     *
+     * @throws IllegalStateException si el modo heredado está activo sin clave o sin fecha de corte
+     */
+    @PostConstruct
+    void init() {
+        this.algorithm = Algorithm.RSA256(jwtKeyProvider);
+        this.verifier = JWT.require(this.algorithm)
+                .withIssuer(this.SECRET_USER_KEY)
+                .build();
+        if (!legacyHmacEnabled) {
+            return;
+        }
+        if (SECRET_KEY == null || SECRET_KEY.isBlank() || legacyHmacCutover == null || legacyHmacCutover.isBlank()) {
+            throw new IllegalStateException(
+                    "jwt.legacy-hmac.enabled requiere jwt.secret.key y jwt.legacy-hmac.cutover");
+        }
+        this.legacyCutover = Instant.parse(legacyHmacCutover);
+        this.legacyAcceptedUntil = legacyCutover.plusMillis(EXPIRATION_TIME);
+        if (!Instant.now().isBefore(legacyAcceptedUntil)) {
+            log.warn("jwt.legacy-hmac.enabled sigue activo pero los tokens HS256 expiraron el {}: se ignora, "
+                    + "desactivarlo y eliminar jwt.secret.key", legacyAcceptedUntil);
+            return;
+        }
+        this.legacyVerifier = JWT.require(Algorithm.HMAC256(this.SECRET_KEY))
+                .withIssuer(this.SECRET_USER_KEY)
+                .build();
+        log.warn("jwt.legacy-hmac.enabled activo: se aceptan tokens HS256 emitidos antes del {} hasta el {}",
+                legacyCutover, legacyAcceptedUntil);
+    }
+
     /**
      * Genera un token JWT con los detalles del usuario autenticado.
      *
@@ -36,8 +103,9 @@ public class JwtUtils {
      * @return un token JWT con los siguientes claims:
      *         - issuer: clave secreta del usuario
      *         - subject: nombre de usuario
-     *         - authorities: permisos del usuario (separados por comas)
-     *         - roles: roles del usuario (sin el prefijo ROLE_)
+     *         - ab: roles y permisos codificados como bitset (ver {@link AuthorityBitsetCodec});
+     *           si alguna autoridad no puede codificarse se usa el claim "authorities"
+     *           con las autoridades separadas por comas
      *         - issuedAt: fecha de emisión del token
      *         - expiresAt: fecha de expiración del token (basada en EXPIRATION_TIME)
      *         - jti: identificador único del token (UUID)
@@ -45,29 +113,44 @@ public class JwtUtils {
      * @throws RuntimeException si ocurre un error durante la generación del token
      */
     public String generateJwtToken(Authentication authentication) {
+        return generateJwtToken(authentication, null, null);
+    }
 
-
-        Algorithm algorithm = Algorithm.HMAC256(this.SECRET_KEY);
+    /**
+     * Genera un token JWT que además identifica al usuario y, si corresponde, al profesional.
+     *
+     * @param authentication el objeto de autenticación que contiene los detalles del usuario
+     * @param userId         id del usuario, se guarda en el claim {@code uid} (puede ser null)
+     * @param professionalId id del profesional, se guarda en el claim {@code pid} (null si no es profesional)
+     * @return el token JWT firmado
+     */
+    public String generateJwtToken(Authentication authentication, Long userId, Long professionalId) {
 
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         String username = userDetails.getUsername();
 
-        String authorities = authentication.getAuthorities()
-                .stream().map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
-
-        List<String> roles = authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .map(role -> role.replace("ROLE_", ""))
-                .toList();
-
-
         try {
-            return JWT.create()
+            JWTCreator.Builder builder = JWT.create()
                     .withIssuer(this.SECRET_USER_KEY)
-                    .withSubject(username)
-                    .withClaim("authorities", authorities)
-                    .withClaim("roles", roles)
+                    .withSubject(username);
+
+            if (userId != null) {
+                builder.withClaim(USER_ID_CLAIM, userId);
+            }
+            if (professionalId != null) {
+                builder.withClaim(PROFESSIONAL_ID_CLAIM, professionalId);
+            }
+
+            Long authorityBits = authorityBitsetCodec.encode(authentication.getAuthorities());
+            if (authorityBits != null) {
+                builder.withClaim(AuthorityBitsetCodec.CLAIM, authorityBits);
+            } else {
+                builder.withClaim("authorities", authentication.getAuthorities()
+                        .stream().map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.joining(",")));
+            }
+
+            return builder
                     .withIssuedAt(new Date())
                     .withExpiresAt(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                     .withJWTId(UUID.randomUUID().toString())
@@ -87,16 +170,32 @@ public class JwtUtils {
      */
     public DecodedJWT validateToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(this.SECRET_KEY);
-            JWTVerifier verifier = JWT.require(algorithm)
-                    .withIssuer(this.SECRET_USER_KEY)
-                    .build();
-            return verifier.verify(token);
+            DecodedJWT decoded = JWT.decode(token);
+            if ("HS256".equals(decoded.getAlgorithm())) {
+                return verifyLegacy(decoded);
+            }
+            return verifier.verify(decoded);
         } catch (JWTVerificationException e) {
             throw new JWTVerificationException("Token Invalid, not Authorized");
         }
     }
 
+    /**
+     * Verifica un token HS256 anterior al cambio a RS256: debe haberse emitido antes de la fecha
+     * de corte y solo se acepta dentro de la ventana configurada.
+     */
+    private DecodedJWT verifyLegacy(DecodedJWT decoded) {
+        if (legacyVerifier == null || !Instant.now().isBefore(legacyAcceptedUntil)) {
+            throw new JWTVerificationException("Tokens HS256 no admitidos");
+        }
+        DecodedJWT verified = legacyVerifier.verify(decoded);
+        Instant issuedAt = verified.getIssuedAtAsInstant();
+        if (issuedAt == null || !issuedAt.isBefore(legacyCutover)) {
+            throw new JWTVerificationException("Token HS256 emitido después del cambio a RS256");
+        }
+        return verified;
+    }
+
    /**
     * Extrae el nombre de usuario del token JWT.
     *
@@ -0,0 +1,137 @@
+package com.clinica.aura.config.jwt;
+
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Cache acotada de tokens JWT ya verificados.
+ * <p>
+ * La clave es el digest SHA-256 del token (nunca el token en claro) y el valor guarda
+ * el usuario y sus autoridades ya parseadas. Cada entrada expira junto con el token,
+ * así las solicitudes repetidas con la misma cookie evitan tanto la verificación de la
+ * firma como el parseo de las autoridades.
+ * <p>
+ * Los contadores de aciertos y fallos se publican en Micrometer como {@code cache.gets}
+ * con el nombre {@code jwt.verification}.
+ */
+@Component
+public class JwtVerificationCache {
+
+    private final JwtUtils jwtUtils;
+    private final AuthorityBitsetCodec authorityBitsetCodec;
+    private final Cache<String, VerifiedJwt> cache;
+
+    public JwtVerificationCache(JwtUtils jwtUtils,
+                                AuthorityBitsetCodec authorityBitsetCodec,
+                                MeterRegistry meterRegistry,
+                                @Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.jwtUtils = jwtUtils;
+        this.authorityBitsetCodec = authorityBitsetCodec;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "jwt.verification");
+    }
+
+    /**
+     * Verifica un token JWT, reutilizando el resultado de una verificación anterior si existe.
+     *
+     * @param token el token JWT recibido en la cookie
+     * @return los datos del usuario autenticado
+     * @throws com.auth0.jwt.exceptions.JWTVerificationException si el token no es válido
+     */
+    public VerifiedJwt verify(String token) {
+        String key = digest(token);
+
+        VerifiedJwt cached = cache.getIfPresent(key);
+        if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        DecodedJWT decodedJWT = jwtUtils.validateToken(token);
+        VerifiedJwt verified = new VerifiedJwt(
+                decodedJWT.getId(),
+                jwtUtils.extractUsername(decodedJWT),
+                jwtUtils.getSpecificClaim(decodedJWT, JwtUtils.USER_ID_CLAIM).asLong(),
+                jwtUtils.getSpecificClaim(decodedJWT, JwtUtils.PROFESSIONAL_ID_CLAIM).asLong(),
+                extractAuthorities(decodedJWT),
+                decodedJWT.getExpiresAtAsInstant());
+
+        if (verified.getExpiresAt() != null) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Obtiene las autoridades del token. Los tokens nuevos las traen como bitset en el claim
+     * {@code ab}; los emitidos antes del cambio de formato siguen usando el claim
+     * {@code authorities} separado por comas y se aceptan hasta que expiren.
+     */
+    private List<GrantedAuthority> extractAuthorities(DecodedJWT decodedJWT) {
+        Claim authorityBits = jwtUtils.getSpecificClaim(decodedJWT, AuthorityBitsetCodec.CLAIM);
+        if (!authorityBits.isMissing() && !authorityBits.isNull()) {
+            return authorityBitsetCodec.decode(authorityBits.asLong());
+        }
+
+        String authorities = jwtUtils.getSpecificClaim(decodedJWT, "authorities").asString();
+        return List.copyOf(AuthorityUtils.commaSeparatedStringToAuthorityList(authorities));
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Hace expirar cada entrada en el mismo instante en que expira su token.
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedJwt> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedJwt value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
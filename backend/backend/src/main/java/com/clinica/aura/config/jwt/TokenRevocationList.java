@@ -0,0 +1,179 @@
+package com.clinica.aura.config.jwt;
+
+import com.clinica.aura.config.notification.NotificationHandler;
+import com.clinica.aura.config.notification.NotificationPublisher;
+import com.clinica.aura.config.notification.PostgresNotificationListener;
+import com.clinica.aura.modules.user_account.models.RevokedTokenModel;
+import com.clinica.aura.modules.user_account.repository.RevokedTokenRepository;
+import com.clinica.aura.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de tokens JWT revocados antes de su expiración.
+ * <p>
+ * Los tokens revocados se persisten en la tabla {@code revoked_tokens} y se replican en memoria
+ * con un filtro de Bloom y un conjunto exacto de {@code jti}. En el caso habitual (token no
+ * revocado) el filtro responde sin consultar el conjunto ni la base de datos.
+ * <p>
+ * Cada revocación se publica con {@code pg_notify} en el canal {@value #CHANNEL}, igual que
+ * {@code SuspendedUserRegistry}: las demás instancias la reciben en
+ * {@link PostgresNotificationListener} apenas se confirma, sin esperar a la tarea periódica.
+ * <p>
+ * Una tarea periódica elimina las entradas ya expiradas, reconstruye el filtro y, como respaldo
+ * ante notificaciones perdidas, trae las revocaciones hechas por otras instancias desde la última
+ * sincronización.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList implements NotificationHandler {
+
+    public static final String CHANNEL = "token_revocation";
+    private static final String SEPARATOR = "\t";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final NotificationPublisher notificationPublisher;
+    private final int expectedInsertions;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               NotificationPublisher notificationPublisher,
+                               @Value("${jwt.revocation.expected-insertions:100000}") int expectedInsertions) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.notificationPublisher = notificationPublisher;
+        this.expectedInsertions = expectedInsertions;
+        this.filter = new BloomFilter(expectedInsertions, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Carga en memoria las revocaciones vigentes al iniciar la aplicación.
+     */
+    @PostConstruct
+    void load() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.findAllByExpiresAtAfter(now)
+                .forEach(token -> remember(token.getJti(), token.getExpiresAt()));
+        lastSync = now;
+        log.info("Tokens revocados cargados: {}", revoked.size());
+    }
+
+    /**
+     * Revoca un token hasta su expiración y lo notifica a las demás instancias.
+     *
+     * @param jti       identificador único del token
+     * @param expiresAt fecha de expiración del token
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return;
+        }
+        LocalDateTime expiration = LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault());
+
+        revokedTokenRepository.save(RevokedTokenModel.builder()
+                .jti(jti)
+                .expiresAt(expiration)
+                .revokedAt(LocalDateTime.now())
+                .build());
+
+        notificationPublisher.publish(CHANNEL, jti + SEPARATOR + expiration, () -> remember(jti, expiration));
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void resync() {
+        sync();
+    }
+
+    /**
+     * Aplica una revocación recibida por el canal de notificaciones.
+     *
+     * @param payload {@code jti<TAB>expiración}
+     */
+    @Override
+    public void handle(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0) {
+            log.warn("Notificación de revocación inválida: {}", payload);
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.parse(payload.substring(separator + 1));
+        if (expiresAt.isAfter(LocalDateTime.now())) {
+            remember(payload.substring(0, separator), expiresAt);
+        }
+    }
+
+    /**
+     * Indica si un token fue revocado.
+     *
+     * @param jti identificador único del token
+     * @return true si el token fue revocado y todavía no expiró
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Trae las revocaciones registradas por otras instancias desde la última sincronización.
+     * Se usa cada vez que se restablece la conexión de LISTEN, por si se perdieron notificaciones
+     * mientras estaba caída, y desde la tarea periódica.
+     *
+     * @return la cantidad de revocaciones leídas
+     */
+    public synchronized int sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedTokenModel> recent = revokedTokenRepository
+                .findAllByRevokedAtAfterAndExpiresAtAfter(lastSync.minusMinutes(1), now);
+        recent.forEach(token -> remember(token.getJti(), token.getExpiresAt()));
+        lastSync = now;
+        return recent.size();
+    }
+
+    /**
+     * Elimina las revocaciones expiradas, reconstruye el filtro de Bloom y, como respaldo de las
+     * notificaciones, sincroniza las revocaciones registradas por otras instancias.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:300000}")
+    public void pruneAndSync() {
+        LocalDateTime now = LocalDateTime.now();
+        int synced = sync();
+
+        int removed = revokedTokenRepository.deleteExpired(now);
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        // Segunda pasada: cubre revocaciones agregadas al filtro anterior durante la reconstrucción.
+        revoked.keySet().forEach(rebuilt::put);
+
+        if (removed > 0 || synced > 0) {
+            log.info("Revocaciones sincronizadas: {} nuevas, {} expiradas eliminadas", synced, removed);
+        }
+    }
+
+    private void remember(String jti, LocalDateTime expiresAt) {
+        revoked.put(jti, expiresAt);
+        filter.put(jti);
+    }
+}
@@ -0,0 +1,24 @@
+package com.clinica.aura.config.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Resultado inmutable de verificar un token JWT.
+ * Guarda solo lo que el filtro necesita para armar el contexto de seguridad,
+ * de modo que pueda reutilizarse mientras el token no expire.
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedJwt {
+    private final String jti;
+    private final String username;
+    private final Long userId;
+    private final Long professionalId;
+    private final List<GrantedAuthority> authorities;
+    private final Instant expiresAt;
+}
@@ -0,0 +1,28 @@
+package com.clinica.aura.config.notification;
+
+/**
+ * Componente que recibe las notificaciones de un canal de Postgres.
+ * <p>
+ * {@link PostgresNotificationListener} escucha los canales de todos los beans que implementan
+ * esta interfaz sobre una única conexión y les entrega cada notificación según su canal.
+ */
+public interface NotificationHandler {
+
+    /**
+     * Canal de Postgres que atiende este componente.
+     */
+    String channel();
+
+    /**
+     * Aplica una notificación recibida desde otra instancia.
+     *
+     * @param payload el contenido publicado con {@code pg_notify}
+     */
+    void handle(String payload);
+
+    /**
+     * Recupera los cambios que pudieron perderse mientras la conexión de LISTEN estuvo caída.
+     * Se llama cada vez que se establece la conexión, incluida la primera.
+     */
+    void resync();
+}
@@ -0,0 +1,44 @@
+package com.clinica.aura.config.notification;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publica cambios en un canal de Postgres para que las demás instancias los apliquen.
+ * <p>
+ * La notificación se emite dentro de la transacción en curso, de modo que Postgres la entrega solo
+ * si la transacción confirma. El cambio local se aplica después del commit, o de inmediato si no
+ * hay transacción activa.
+ */
+@Component
+public class NotificationPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationPublisher(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param channel      canal de Postgres
+     * @param payload      contenido de la notificación
+     * @param applyLocally cambio a aplicar en esta instancia, que no recibe su propia notificación
+     *                     a tiempo para la solicitud en curso
+     */
+    public void publish(String channel, String payload, Runnable applyLocally) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, payload);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyLocally.run();
+                }
+            });
+        } else {
+            applyLocally.run();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.clinica.aura.config.notification;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Escucha en Postgres los canales de todos los {@link NotificationHandler} y entrega cada
+ * notificación al handler de su canal.
+ * <p>
+ * Usa una única conexión propia (fuera del pool) porque LISTEN la mantiene ocupada de forma
+ * permanente. Si la conexión se cae, se reconecta y pide a cada handler que recupere los cambios
+ * hechos mientras estuvo caída.
+ */
+@Slf4j
+@Component
+public class PostgresNotificationListener {
+
+    private static final int POLL_TIMEOUT_MS = 10_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final Map<String, NotificationHandler> handlers;
+    private final DataSourceProperties dataSourceProperties;
+
+    private volatile boolean running = true;
+    private Thread thread;
+
+    public PostgresNotificationListener(List<NotificationHandler> handlers,
+                                        DataSourceProperties dataSourceProperties) {
+        this.handlers = handlers.stream()
+                .collect(Collectors.toUnmodifiableMap(NotificationHandler::channel, Function.identity()));
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        thread = new Thread(this::listen, "postgres-notification-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : handlers.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                // Cubre los cambios hechos antes de LISTEN o mientras la conexión estuvo caída.
+                handlers.values().forEach(NotificationHandler::resync);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Se perdió la conexión LISTEN, reintentando: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+        NotificationHandler handler = handlers.get(notification.getName());
+        if (handler == null) {
+            log.warn("Notificación en un canal sin handler: {}", notification.getName());
+            return;
+        }
+        try {
+            handler.handle(notification.getParameter());
+        } catch (RuntimeException e) {
+            // Un payload inválido no debe cortar la escucha de los demás canales.
+            log.warn("No se pudo aplicar la notificación del canal {}: {}", notification.getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.clinica.aura.config.password;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Perfiles de hash de contraseñas disponibles.
+ * <p>
+ * Los hashes nuevos se guardan con el prefijo del perfil activo (por ejemplo
+ * {@code {bcrypt12}$2a$12$...}). Los hashes existentes sin prefijo son BCrypt de costo 10 y se
+ * siguen verificando; al iniciar sesión con éxito se vuelven a generar con el perfil activo.
+ * <p>
+ * Para elegir el perfil conviene observar la métrica {@code auth.password.hash}
+ * (percentil 99 de {@code matches}) en el hardware de producción.
+ */
+public final class PasswordEncoderProfiles {
+
+    public static final String BCRYPT_10 = "bcrypt10";
+    public static final String BCRYPT_12 = "bcrypt12";
+    public static final String BCRYPT_14 = "bcrypt14";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private PasswordEncoderProfiles() {
+    }
+
+    /**
+     * Crea el codificador delegante que genera hashes con el perfil indicado y verifica
+     * hashes de cualquier perfil conocido.
+     *
+     * @param activeProfile id del perfil con el que se codifican las contraseñas nuevas
+     * @return el codificador delegante
+     * @throws IllegalArgumentException si el perfil no existe
+     */
+    public static PasswordEncoder delegating(String activeProfile) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_10, new BCryptPasswordEncoder(10));
+        encoders.put(BCRYPT_12, new BCryptPasswordEncoder(12));
+        encoders.put(BCRYPT_14, new BCryptPasswordEncoder(14));
+        encoders.put(ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put(PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        if (!encoders.containsKey(activeProfile)) {
+            throw new IllegalArgumentException("Perfil de hash de contraseñas desconocido: " + activeProfile
+                    + ". Valores válidos: " + encoders.keySet());
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(activeProfile, encoders);
+        // Hashes anteriores a los perfiles: BCrypt sin prefijo.
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return delegating;
+    }
+}
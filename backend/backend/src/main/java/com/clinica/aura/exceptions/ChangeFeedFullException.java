@@ -0,0 +1,10 @@
+package com.clinica.aura.exceptions;
+/**
+ * Excepción lanzada cuando el canal de cambios en tiempo real alcanzó su cantidad máxima de clientes conectados.
+ * Esta clase es utilizada por el controlador para retornar una respuesta con código HTTP 503 (Service Unavailable).
+ */
+public class ChangeFeedFullException extends RuntimeException {
+    public ChangeFeedFullException(String message) {
+        super(message);
+    }
+}
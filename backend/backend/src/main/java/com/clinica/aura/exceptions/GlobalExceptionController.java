@@ -6,8 +6,10 @@ import jakarta.validation.constraints.Pattern;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.hibernate.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -41,6 +43,9 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionController {
 
+    @Value("${security.password.executor.retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
     /**
      * Manejador de excepciones para errores de validación en los argumentos de los métodos del controlador.
      * Captura instancias de {@link MethodArgumentNotValidException} generadas por anotaciones como {@code @Valid}.
@@ -652,6 +657,36 @@ public class GlobalExceptionController {
                 .body(errorResponse);
     }
 
+    /**
+     * Manejador de excepciones para inicios de sesión rechazados por sobrecarga.
+     * Captura instancias de {@link PasswordHashingOverloadedException} cuando la cola de hash de contraseñas está llena.
+     *
+     * @param ex      la excepción lanzada cuando no hay lugar en la cola de hash de contraseñas
+     * @param request el objeto {@link WebRequest} asociado a la solicitud HTTP que provocó la excepción
+     * @return una respuesta con código 429 (Too Many Requests) y el encabezado {@code Retry-After}
+     */
+
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingOverloaded(PasswordHashingOverloadedException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorCode("AUTH-429")
+                .message("El servicio de autenticación está saturado")
+                .details(List.of(sanitizeErrorMessage(ex.getMessage())))
+                .timestamp(Instant.now())
+                .path(getSanitizedPath(request))
+                .build();
+
+        log.warn("Cola de hash de contraseñas llena - Path: {} | IP: {}",
+                errorResponse.getPath(),
+                request.getHeader("X-Forwarded-For"));
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("X-Content-Type-Options", "nosniff")
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponse);
+    }
+
     /**
      * Manejador de excepciones para solicitudes con recursos no encontrados.
      * Captura instancias de {@link EmailAlreadyExistsException} cuando se intenta registrar un correo electrónico que ya existe.
@@ -739,6 +774,134 @@ public class GlobalExceptionController {
                 .body(errorResponse);
     }
 
+    /**
+     * Manejador de excepciones para cursores de paginación inválidos.
+     * Captura instancias de {@link InvalidCursorException} cuando el cursor recibido no puede decodificarse,
+     * por ejemplo porque fue modificado por el cliente.
+     *
+     * @param ex      la excepción lanzada al decodificar el cursor
+     * @param request el objeto {@link WebRequest} asociado a la solicitud que provocó la excepción
+     * @return una respuesta con código 400 (Bad Request) y detalles del error en el cuerpo
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException ex, WebRequest request) {
+        log.warn("Invalid Cursor - Path: {} | Error: {}", getSanitizedPath(request), ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorCode("CURSOR-400")
+                .message("Cursor de paginación inválido")
+                .details(List.of(ex.getMessage()))
+                .timestamp(Instant.now())
+                .path(getSanitizedPath(request))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .header("X-Content-Type-Options", "nosniff")
+                .body(errorResponse);
+    }
+
+    /**
+     * Manejador de excepciones para archivos de importación masiva que no pueden procesarse.
+     * Captura instancias de {@link InvalidImportFileException}, por ejemplo cuando el encabezado CSV
+     * contiene columnas desconocidas o el tipo de contenido no es soportado.
+     *
+     * @param ex      la excepción lanzada al leer el archivo
+     * @param request el objeto {@link WebRequest} asociado a la solicitud que provocó la excepción
+     * @return una respuesta con código 400 (Bad Request) y detalles del error en el cuerpo
+     */
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidImportFileException(InvalidImportFileException ex, WebRequest request) {
+        log.warn("Invalid Import File - Path: {} | Error: {}", getSanitizedPath(request), ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorCode("IMPORT-400")
+                .message("Archivo de importación inválido")
+                .details(List.of(ex.getMessage()))
+                .timestamp(Instant.now())
+                .path(getSanitizedPath(request))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .header("X-Content-Type-Options", "nosniff")
+                .body(errorResponse);
+    }
+
+    /**
+     * Manejador de excepciones para parámetros de exportación inválidos.
+     * Captura instancias de {@link InvalidExportRequestException}, por ejemplo cuando se piden columnas
+     * desconocidas o un formato no soportado.
+     *
+     * @param ex      la excepción lanzada al validar la exportación
+     * @param request el objeto {@link WebRequest} asociado a la solicitud que provocó la excepción
+     * @return una respuesta con código 400 (Bad Request) y detalles del error en el cuerpo
+     */
+    @ExceptionHandler(InvalidExportRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidExportRequestException(InvalidExportRequestException ex, WebRequest request) {
+        log.warn("Invalid Export Request - Path: {} | Error: {}", getSanitizedPath(request), ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorCode("EXPORT-400")
+                .message("Parámetros de exportación inválidos")
+                .details(List.of(ex.getMessage()))
+                .timestamp(Instant.now())
+                .path(getSanitizedPath(request))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .header("X-Content-Type-Options", "nosniff")
+                .body(errorResponse);
+    }
+
+    /**
+     * Manejador de excepciones para listados que piden campos inexistentes en el parámetro {@code fields}.
+     * Captura instancias de {@link InvalidFieldsException}.
+     *
+     * @param ex      la excepción lanzada al interpretar los campos pedidos
+     * @param request el objeto {@link WebRequest} asociado a la solicitud que provocó la excepción
+     * @return una respuesta con código 400 (Bad Request) y detalles del error en el cuerpo
+     */
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFieldsException(InvalidFieldsException ex, WebRequest request) {
+        log.warn("Invalid Fields - Path: {} | Error: {}", getSanitizedPath(request), ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorCode("FIELDS-400")
+                .message("Campos solicitados inválidos")
+                .details(List.of(ex.getMessage()))
+                .timestamp(Instant.now())
+                .path(getSanitizedPath(request))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .header("X-Content-Type-Options", "nosniff")
+                .body(errorResponse);
+    }
+
+    /**
+     * Manejador de excepciones para suscripciones al canal de cambios rechazadas por exceso de clientes.
+     * Captura instancias de {@link ChangeFeedFullException}.
+     *
+     * @param ex      la excepción lanzada cuando no hay lugar para otro cliente
+     * @param request el objeto {@link WebRequest} asociado a la solicitud que provocó la excepción
+     * @return una respuesta con código 503 (Service Unavailable) y detalles del error en el cuerpo
+     */
+    @ExceptionHandler(ChangeFeedFullException.class)
+    public ResponseEntity<ErrorResponse> handleChangeFeedFullException(ChangeFeedFullException ex, WebRequest request) {
+        log.warn("Change Feed Full - Path: {} | Error: {}", getSanitizedPath(request), ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorCode("SSE-503")
+                .message("El canal de cambios está saturado")
+                .details(List.of(ex.getMessage()))
+                .timestamp(Instant.now())
+                .path(getSanitizedPath(request))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("X-Content-Type-Options", "nosniff")
+                .body(errorResponse);
+    }
+
     /**
      * Manejador de excepciones para solicitudes con formato inválido en campos de nombre o apellido.
      * Captura instancias de {@link InvalidNameFormatException} lanzadas cuando los campos de búsqueda
@@ -0,0 +1,7 @@
+package com.clinica.aura.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.clinica.aura.exceptions;
+/**
+ * Excepción lanzada cuando los parámetros de una exportación no son válidos, por ejemplo un formato
+ * no soportado o columnas desconocidas. Se valida antes de empezar a escribir la respuesta.
+ * Esta clase es utilizada por el controlador para retornar una respuesta con código HTTP 400 (Bad Request).
+ */
+public class InvalidExportRequestException extends RuntimeException {
+    public InvalidExportRequestException(String message) {
+        super(message);
+    }
+}
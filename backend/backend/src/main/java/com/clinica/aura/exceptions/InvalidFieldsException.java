@@ -0,0 +1,10 @@
+package com.clinica.aura.exceptions;
+/**
+ * Excepción lanzada cuando el parámetro {@code fields} de un listado pide campos que no existen.
+ * Esta clase es utilizada por el controlador para retornar una respuesta con código HTTP 400 (Bad Request).
+ */
+public class InvalidFieldsException extends RuntimeException {
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
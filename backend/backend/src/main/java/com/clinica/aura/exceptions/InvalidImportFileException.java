@@ -0,0 +1,12 @@
+package com.clinica.aura.exceptions;
+/**
+ * Excepción lanzada cuando el archivo de una importación masiva no puede procesarse en su conjunto,
+ * por ejemplo porque el formato no es soportado o el encabezado CSV tiene columnas desconocidas.
+ * Los errores de filas individuales no usan esta excepción: se informan en el resultado de la importación.
+ * Esta clase es utilizada por el controlador para retornar una respuesta con código HTTP 400 (Bad Request).
+ */
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
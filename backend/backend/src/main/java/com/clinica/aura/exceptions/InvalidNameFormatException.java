@@ -6,7 +6,7 @@ package com.clinica.aura.exceptions;
  * Si se ingresan números, símbolos u otros caracteres especiales, se lanza esta excepción.
  * Esta clase es utilizada por el controlador para retornar una respuesta con código HTTP 400 (Bad Request).
  *
- * @see com.clinica.aura.modules.patient.controller.PatientController#getPatientsByName(String, String)
+ * @see com.clinica.aura.modules.patient.controller.PatientController#getPatientsByName(String, String, int, int)
  */
 public class InvalidNameFormatException extends RuntimeException {
     public InvalidNameFormatException(String message) {
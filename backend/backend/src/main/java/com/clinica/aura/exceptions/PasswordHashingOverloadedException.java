@@ -0,0 +1,7 @@
+package com.clinica.aura.exceptions;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
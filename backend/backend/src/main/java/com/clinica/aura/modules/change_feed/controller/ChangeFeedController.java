@@ -0,0 +1,48 @@
+package com.clinica.aura.modules.change_feed.controller;
+
+import com.clinica.aura.modules.change_feed.service.ChangeFeedBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+@Tag(name = "Changes", description = "Canal de cambios en tiempo real")
+public class ChangeFeedController {
+
+    private final ChangeFeedBroadcaster changeFeedBroadcaster;
+
+    /**
+     * Abre un canal SSE con los cambios confirmados de pacientes, historias clínicas, diagnósticos
+     * y seguimientos, para que los tableros vuelvan a pedir solo los registros modificados en lugar
+     * de consultar los listados periódicamente.
+     * <p>
+     * Cada evento {@code change} contiene el tipo de registro, su id, la operación y el momento del
+     * cambio. Los recepcionistas solo reciben cambios de pacientes. Un evento {@code reset} indica
+     * que el cliente se atrasó y perdió eventos: la conexión se cierra y, al reconectarse, debe
+     * volver a pedir los listados completos.
+     *
+     * @param authentication el usuario autenticado, cuyos roles determinan qué eventos recibe
+     * @return el emisor SSE de la conexión
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('RECEPTIONIST') or hasRole('PROFESSIONAL')")
+    @Operation(summary = "Canal de cambios (SSE)", description = "Envía un evento 'change' {entity, id, operation, updatedAt} " +
+            "por cada alta, modificación o baja confirmada de pacientes, historias clínicas, diagnósticos y seguimientos. " +
+            "Los datos clínicos solo se envían a administradores y profesionales. Un evento 'reset' indica que se " +
+            "perdieron eventos y que hay que volver a pedir los listados.")
+    public SseEmitter stream(Authentication authentication) {
+        return changeFeedBroadcaster.subscribe(authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+    }
+}
@@ -0,0 +1,46 @@
+package com.clinica.aura.modules.change_feed.dto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Evento compacto del canal de cambios: indica qué registro cambió para que el cliente vuelva a
+ * pedir solo ese registro, sin incluir sus datos.
+ *
+ * @param entity    tipo de registro modificado
+ * @param id        id del registro
+ * @param operation operación confirmada
+ * @param updatedAt momento en que se confirmó el cambio
+ */
+public record ChangeEventDto(Entity entity, Long id, Operation operation, LocalDateTime updatedAt) {
+
+    /**
+     * Tipos de registro publicados y los roles que pueden recibir sus eventos. Los datos clínicos
+     * solo llegan a administradores y profesionales.
+     */
+    public enum Entity {
+        PATIENT("ROLE_ADMIN", "ROLE_RECEPTIONIST", "ROLE_PROFESSIONAL"),
+        MEDICAL_RECORD("ROLE_ADMIN", "ROLE_PROFESSIONAL"),
+        DIAGNOSIS("ROLE_ADMIN", "ROLE_PROFESSIONAL"),
+        FOLLOW_UP_ENTRY("ROLE_ADMIN", "ROLE_PROFESSIONAL");
+
+        private final Set<String> roles;
+
+        Entity(String... roles) {
+            this.roles = Set.of(roles);
+        }
+
+        /**
+         * @param authorities autoridades del usuario suscripto
+         * @return {@code true} si alguna de las autoridades puede ver este tipo de registro
+         */
+        public boolean isVisibleTo(Collection<String> authorities) {
+            return authorities.stream().anyMatch(roles::contains);
+        }
+    }
+
+    public enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,213 @@
+package com.clinica.aura.modules.change_feed.service;
+
+import com.clinica.aura.exceptions.ChangeFeedFullException;
+import com.clinica.aura.modules.change_feed.dto.ChangeEventDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reparte los eventos del canal de cambios entre los clientes SSE conectados.
+ * <p>
+ * {@link #publish} nunca bloquea a quien confirma la transacción: cada cliente tiene una cola
+ * acotada y el envío lo hace un pool pequeño de hilos propio, con a lo sumo una tarea por cliente a
+ * la vez para no escribir en paralelo sobre la misma conexión. Si un cliente no consume a tiempo y
+ * su cola se llena, se le envía un evento {@code reset} y se cierra la conexión: al reconectarse
+ * debe volver a pedir los listados completos, porque se perdieron eventos.
+ * <p>
+ * Cada cliente recibe solo los tipos de registro que sus roles pueden ver
+ * (ver {@link ChangeEventDto.Entity}). Un comentario periódico mantiene viva la conexión a través
+ * de proxies y detecta clientes desconectados.
+ */
+@Slf4j
+@Component
+public class ChangeFeedBroadcaster {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolTaskExecutor executor;
+    private final int maxClients;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final Counter overflows;
+
+    public ChangeFeedBroadcaster(MeterRegistry meterRegistry,
+                                 @Value("${changes.sse.max-clients:500}") int maxClients,
+                                 @Value("${changes.sse.queue-capacity:256}") int queueCapacity,
+                                 @Value("${changes.sse.sender-threads:2}") int senderThreads,
+                                 @Value("${changes.sse.timeout:PT30M}") Duration timeout) {
+        this.maxClients = maxClients;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(senderThreads);
+        this.executor.setMaxPoolSize(senderThreads);
+        // Hay a lo sumo una tarea de envío pendiente por cliente.
+        this.executor.setQueueCapacity(maxClients);
+        this.executor.setThreadNamePrefix("sse-sender-");
+        this.executor.initialize();
+
+        Gauge.builder("changes.sse.clients", subscribers, Set::size).register(meterRegistry);
+        this.overflows = Counter.builder("changes.sse.overflows").register(meterRegistry);
+    }
+
+    /**
+     * Registra un cliente nuevo.
+     *
+     * @param authorities autoridades del usuario autenticado (por ejemplo {@code ROLE_ADMIN})
+     * @return el emisor SSE que el controlador devuelve como respuesta
+     * @throws ChangeFeedFullException si ya hay {@code changes.sse.max-clients} clientes conectados
+     */
+    public SseEmitter subscribe(Collection<String> authorities) {
+        Set<ChangeEventDto.Entity> visible = EnumSet.noneOf(ChangeEventDto.Entity.class);
+        for (ChangeEventDto.Entity entity : ChangeEventDto.Entity.values()) {
+            if (entity.isVisibleTo(authorities)) {
+                visible.add(entity);
+            }
+        }
+
+        if (subscribers.size() >= maxClients) {
+            throw new ChangeFeedFullException("Se alcanzó el máximo de " + maxClients + " clientes conectados");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, visible, new ArrayBlockingQueue<>(queueCapacity));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        enqueue(subscriber, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Encola un evento para todos los clientes que pueden verlo. No bloquea.
+     *
+     * @param event el cambio confirmado
+     */
+    public void publish(ChangeEventDto event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.visible.contains(event.entity())) {
+                continue;
+            }
+            SseEmitter.SseEventBuilder message = SseEmitter.event()
+                    .name("change")
+                    .data(event, MediaType.APPLICATION_JSON);
+            if (!subscriber.queue.offer(message)) {
+                overflow(subscriber);
+            } else {
+                scheduleSend(subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${changes.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            // Si la cola está llena el cliente ya tiene mensajes pendientes; no hace falta otro.
+            enqueue(subscriber, SseEmitter.event().comment("ping"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        executor.shutdown();
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder message) {
+        if (subscriber.queue.offer(message)) {
+            scheduleSend(subscriber);
+        }
+    }
+
+    private void overflow(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            overflows.increment();
+            log.warn("Cliente SSE demasiado lento; se descartan {} eventos pendientes y se cierra la conexión",
+                    subscriber.queue.size());
+            subscriber.queue.clear();
+            subscriber.reset = true;
+            scheduleSend(subscriber);
+        }
+    }
+
+    private void scheduleSend(Subscriber subscriber) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> send(subscriber));
+        } catch (TaskRejectedException e) {
+            subscriber.sending.set(false);
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder message;
+            while ((message = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(message);
+            }
+            if (subscriber.reset) {
+                subscriber.emitter.send(SseEmitter.event().name("reset").data(""));
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // El cliente cerró la conexión o el emisor ya terminó.
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // Un evento (o el desborde) pudo llegar entre el último poll y la liberación del flag.
+        if (subscriber.reset || (!subscriber.queue.isEmpty() && subscribers.contains(subscriber))) {
+            scheduleSend(subscriber);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<ChangeEventDto.Entity> visible;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean reset;
+
+        private Subscriber(SseEmitter emitter, Set<ChangeEventDto.Entity> visible,
+                           BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.emitter = emitter;
+            this.visible = visible;
+            this.queue = queue;
+        }
+    }
+}
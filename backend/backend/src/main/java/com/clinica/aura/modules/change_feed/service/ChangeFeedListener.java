@@ -0,0 +1,85 @@
+package com.clinica.aura.modules.change_feed.service;
+
+import com.clinica.aura.modules.change_feed.dto.ChangeEventDto;
+import com.clinica.aura.modules.diagnoses.model.DiagnosesModel;
+import com.clinica.aura.modules.follow_up_entries.model.FollowUpEntriesModel;
+import com.clinica.aura.modules.medical_records.model.MedicalRecordsModel;
+import com.clinica.aura.modules.patient.model.PatientModel;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listener JPA que publica en el {@link ChangeFeedBroadcaster} los cambios de pacientes, historias
+ * clínicas, diagnósticos y seguimientos. Igual que {@code PatientLookupListener}, el evento se arma
+ * al momento de la escritura y se publica recién cuando la transacción confirma, de modo que los
+ * clientes nunca ven cambios revertidos. La baja lógica de un paciente se publica como
+ * {@link ChangeEventDto.Operation#DELETED}.
+ */
+@Component
+public class ChangeFeedListener {
+
+    private final ObjectProvider<ChangeFeedBroadcaster> broadcaster;
+
+    public ChangeFeedListener(ObjectProvider<ChangeFeedBroadcaster> broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @PostPersist
+    public void onCreate(Object entity) {
+        publish(entity, ChangeEventDto.Operation.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof PatientModel patient && patient.isDeleted()) {
+            publish(entity, ChangeEventDto.Operation.DELETED);
+        } else {
+            publish(entity, ChangeEventDto.Operation.UPDATED);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        publish(entity, ChangeEventDto.Operation.DELETED);
+    }
+
+    private void publish(Object entity, ChangeEventDto.Operation operation) {
+        ChangeEventDto.Entity type;
+        Long id;
+        if (entity instanceof PatientModel patient) {
+            type = ChangeEventDto.Entity.PATIENT;
+            id = patient.getId();
+        } else if (entity instanceof MedicalRecordsModel medicalRecord) {
+            type = ChangeEventDto.Entity.MEDICAL_RECORD;
+            id = medicalRecord.getId();
+        } else if (entity instanceof DiagnosesModel diagnosis) {
+            type = ChangeEventDto.Entity.DIAGNOSIS;
+            id = diagnosis.getId();
+        } else if (entity instanceof FollowUpEntriesModel followUp) {
+            type = ChangeEventDto.Entity.FOLLOW_UP_ENTRY;
+            id = followUp.getId();
+        } else {
+            return;
+        }
+
+        broadcaster.ifAvailable(target -> {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        target.publish(new ChangeEventDto(type, id, operation, LocalDateTime.now()));
+                    }
+                });
+            } else {
+                target.publish(new ChangeEventDto(type, id, operation, LocalDateTime.now()));
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.clinica.aura.modules.diagnoses.model;
 
+import com.clinica.aura.modules.change_feed.service.ChangeFeedListener;
 import com.clinica.aura.modules.medical_records.model.MedicalRecordsModel;
 import com.clinica.aura.modules.professional.model.ProfessionalModel;
 import jakarta.persistence.*;
@@ -14,7 +15,8 @@ import java.time.LocalDate;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "diagnoses")
+@Table(name = "diagnoses", indexes = @Index(name = "idx_diagnoses_updated_at_id", columnList = "updated_at, id"))
+@EntityListeners(ChangeFeedListener.class)
 public class DiagnosesModel {
 
     @Id
@@ -1,5 +1,6 @@
 package com.clinica.aura.modules.follow_up_entries.model;
 
+import com.clinica.aura.modules.change_feed.service.ChangeFeedListener;
 import com.clinica.aura.modules.medical_records.model.MedicalRecordsModel;
 import com.clinica.aura.modules.professional.model.ProfessionalModel;
 import jakarta.persistence.*;
@@ -22,7 +23,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "follow_up_entries")
+@Table(name = "follow_up_entries", indexes = @Index(name = "idx_follow_up_entries_updated_at_id", columnList = "updated_at, id"))
+@EntityListeners(ChangeFeedListener.class)
 public class FollowUpEntriesModel {
 
     /**
@@ -18,6 +18,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 /**
  * Servicio para gestionar los registros de seguimiento (FollowUpEntries) asociados a las historias clínicas.
  * Permite crear, actualizar, eliminar y obtener registros individuales o paginados.
@@ -102,6 +104,9 @@ public class FollowUpEntriesService {
     @Transactional
     public void delete(Long id) {
         FollowUpEntriesModel record = followUpEntriesRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Registro con id "+ id + " no encontrado"));
+        // El borrado es físico: se marca la historia clínica como actualizada para que la
+        // sincronización incremental (/sync/changes) envíe su lista de seguimientos vigente.
+        record.getMedicals().setUpdatedAt(LocalDateTime.now());
         followUpEntriesRepository.delete(record);
     }
 
@@ -18,7 +18,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "medical_background")
+@Table(name = "medical_background", indexes = @Index(name = "idx_medical_background_updated_at_id", columnList = "updated_at, id"))
 public class MedicalBackgroundModel {
 
     @Id
@@ -6,17 +6,14 @@ import com.clinica.aura.modules.medical_background.dto.MedicalBackgroundResponse
 import com.clinica.aura.modules.medical_background.model.MedicalBackgroundModel;
 import com.clinica.aura.modules.medical_background.repository.MedicalBackgroundRepository;
 import com.clinica.aura.modules.patient.repository.PatientRepository;
-import com.clinica.aura.modules.professional.repository.ProfessionalRepository;
 import com.clinica.aura.modules.patient.model.PatientModel;
 import com.clinica.aura.modules.professional.model.ProfessionalModel;
 import com.clinica.aura.exceptions.ConflictWithExistingRecord;
 import com.clinica.aura.exceptions.UnauthorizedAccessException;
 import com.clinica.aura.exceptions.ProfessionalNotFoundException;
-import com.clinica.aura.modules.user_account.models.UserModel;
-import com.clinica.aura.modules.user_account.repository.UserRepository;
+import com.clinica.aura.util.SecurityUtil;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,8 +33,7 @@ public class MedicalBackgroundService {
 
     private final MedicalBackgroundRepository medicalBackgroundRepository;
     private final PatientRepository patientRepository;
-    private final UserRepository userRepository;
-    private final ProfessionalRepository professionalRepository;
+    private final SecurityUtil securityUtil;
 
     /**
      * Crea un nuevo antecedente médico para un paciente.
@@ -59,16 +55,7 @@ public class MedicalBackgroundService {
             throw new ConflictWithExistingRecord("El paciente con id " + dto.getPatientId() + " ya tiene antecedentes médicos registrados");
         }
 
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        if ("anonymousUser".equals(email)) {
-            throw new UnauthorizedAccessException("Debe iniciar sesión un profesional para registrar antecedentes médicos");
-        }
-
-        UserModel user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con email: " + email));
-
-        ProfessionalModel professional = professionalRepository.findByPerson(user.getPerson())
-                .orElseThrow(() -> new ProfessionalNotFoundException("Profesional no encontrado para el usuario con id: " + user.getPerson().getId()));
+        ProfessionalModel professional = securityUtil.getAuthenticatedProfessional();
 
         MedicalBackgroundModel background = new MedicalBackgroundModel();
         background.setPatient(patient);
@@ -138,12 +125,7 @@ public class MedicalBackgroundService {
         MedicalBackgroundModel background = medicalBackgroundRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Antecedente médico no encontrado con ID: " + id));
 
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        UserModel user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con email: " + email));
-
-        ProfessionalModel professional = professionalRepository.findByPerson(user.getPerson())
-                .orElseThrow(() -> new ProfessionalNotFoundException("Profesional no encontrado para el usuario con id: " + user.getPerson().getId()));
+        ProfessionalModel professional = securityUtil.getAuthenticatedProfessional();
 
         background.setAllergies(dto.getAllergies());
         background.setDisabilities(dto.getDisabilities());
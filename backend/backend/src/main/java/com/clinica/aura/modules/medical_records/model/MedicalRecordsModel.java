@@ -1,5 +1,6 @@
 package com.clinica.aura.modules.medical_records.model;
 
+import com.clinica.aura.modules.change_feed.service.ChangeFeedListener;
 import com.clinica.aura.modules.diagnoses.model.DiagnosesModel;
 import com.clinica.aura.modules.follow_up_entries.model.FollowUpEntriesModel;
 import com.clinica.aura.modules.patient.model.PatientModel;
@@ -18,7 +19,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "medical_records")
+@Table(name = "medical_records", indexes = @Index(name = "idx_medical_records_updated_at_id", columnList = "updated_at, id"))
+@EntityListeners(ChangeFeedListener.class)
 public class MedicalRecordsModel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -4,20 +4,34 @@ package com.clinica.aura.modules.patient.controller;
 
 import com.clinica.aura.exceptions.InvalidDniFormatException;
 import com.clinica.aura.exceptions.InvalidNameFormatException;
+import com.clinica.aura.modules.patient.dto.PatientExportFilterDto;
+import com.clinica.aura.modules.patient.dto.PatientFilterDto;
+import com.clinica.aura.modules.patient.dto.PatientImportResultDto;
 import com.clinica.aura.modules.patient.dto.PatientRequestDto;
 import com.clinica.aura.modules.patient.dto.PatientResponseDto;
+import com.clinica.aura.modules.patient.service.PatientChartService;
+import com.clinica.aura.modules.patient.service.PatientExportService;
+import com.clinica.aura.modules.patient.service.PatientImportService;
 import com.clinica.aura.modules.patient.service.PatientService;
+import com.clinica.aura.util.CursorPaginatedResponse;
 import com.clinica.aura.util.PaginatedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +49,9 @@ import java.util.Map;
 public class PatientController {
 
     private final PatientService patientService;
+    private final PatientImportService patientImportService;
+    private final PatientExportService patientExportService;
+    private final PatientChartService patientChartService;
 
     /**
      * Registra un nuevo paciente en el sistema.
@@ -56,21 +73,126 @@ public class PatientController {
     }
 
 
+    /**
+     * Importa pacientes en forma masiva desde un archivo CSV o NDJSON enviado como cuerpo de la solicitud.
+     * Las filas inválidas o duplicadas no detienen la importación: se informan en el resultado.
+     * @param body        contenido del archivo
+     * @param contentType {@code text/csv} o {@code application/x-ndjson}
+     * @return resumen con la cantidad de filas importadas y los errores por fila
+     * @throws IOException si falla la lectura del cuerpo
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN') or hasRole('RECEPTIONIST')")
+    @Operation(summary = "Importar pacientes", description = "Importa pacientes desde CSV (con encabezado usando los nombres " +
+            "de campo del registro; professionalIds separados por ';') o NDJSON (un objeto JSON por línea). " +
+            "Devuelve la cantidad de filas importadas y los errores de cada fila rechazada.")
+    public ResponseEntity<PatientImportResultDto> importPatients(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        return ResponseEntity.ok(patientImportService.importPatients(body, PatientImportService.ImportFormat.fromContentType(contentType)));
+    }
+
+    /**
+     * Exporta los pacientes activos en CSV o NDJSON, escribiendo la respuesta a medida que se leen las filas.
+     * @param format  {@code csv} o {@code ndjson}
+     * @param columns columnas a exportar separadas por comas (por defecto, todas)
+     * @param filter  filtros opcionales
+     * @return el archivo exportado
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('RECEPTIONIST')")
+    @Operation(summary = "Exportar pacientes", description = "Exporta los pacientes activos en CSV o NDJSON sin paginar. " +
+            "Se pueden elegir columnas (por ejemplo columns=id,dni,name,lastName) y filtrar por obra social, género, " +
+            "escuela, profesional asignado y rango de fecha de nacimiento.")
+    public ResponseEntity<StreamingResponseBody> exportPatients(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String columns,
+            @ParameterObject @ModelAttribute PatientExportFilterDto filter) {
+        PatientExportService.ExportFormat exportFormat = PatientExportService.ExportFormat.parse(format);
+        List<PatientExportService.ExportColumn> exportColumns = PatientExportService.ExportColumn.parse(columns);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("pacientes." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(patientExportService.export(exportFormat, exportColumns, filter));
+    }
+
     /**
      * Recupera una lista paginada de pacientes.
      * @param page número de página (comienza en 0)
      * @param size cantidad de registros por página
+     * @param fields campos a devolver separados por comas (opcional, por defecto todos)
      * @return respuesta con la lista de pacientes paginados
      */
     @GetMapping
     @Operation(summary = "Filtrar pacientes por paginación", description = "Recupera pacientes con paginación. Recordar" +
-            " que la paginación comienza desde la página 0. Ejemplo: page=0 y size=1 trae el primer registro.")
-    public ResponseEntity<PaginatedResponse<PatientResponseDto>> getAllPatients
-    (@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(patientService.getAllPatients(page, size));
+            " que la paginación comienza desde la página 0. Ejemplo: page=0 y size=1 trae el primer registro. " +
+            "Con fields (por ejemplo fields=id,name,lastName,dni) cada paciente incluye solo esos campos.")
+    public ResponseEntity<PaginatedResponse<?>> getAllPatients
+    (@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
+     @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(patientService.getAllPatients(page, size, fields));
+    }
+
+    /**
+     * Recupera pacientes paginados por cursor, ordenados por apellido e id.
+     * @param cursor cursor devuelto por la página anterior; se omite para la primera página
+     * @param size cantidad de registros por página (máximo 100)
+     * @param includeTotal si se debe calcular la cantidad total de pacientes
+     * @return respuesta con la página de pacientes y el cursor de la siguiente
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar pacientes por cursor", description = "Recupera pacientes ordenados por apellido e id. " +
+            "Para la página siguiente se envía el valor de nextCursor recibido; es null cuando no hay más resultados. " +
+            "El total solo se calcula con includeTotal=true.")
+    public ResponseEntity<CursorPaginatedResponse<PatientResponseDto>> getPatientsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(patientService.getPatientsByCursor(cursor, size, includeTotal));
     }
 
 
+    /**
+     * Filtra pacientes por varios criterios combinados, paginando por cursor.
+     * @param filter criterios opcionales (obra social, plan, escuela, profesional, género, rango de edad)
+     * @param cursor cursor devuelto por la página anterior; se omite para la primera página
+     * @param size   cantidad de registros por página (máximo 100)
+     * @return respuesta con la página de pacientes y el cursor de la siguiente
+     */
+    @GetMapping("/filter")
+    @Operation(summary = "Filtrar pacientes", description = "Filtra pacientes activos por obra social, plan, escuela, " +
+            "profesional asignado, género y rango de edad (minAge/maxAge, en años). Los criterios se combinan y los " +
+            "resultados se ordenan por id; para la página siguiente se envía el valor de nextCursor recibido.")
+    public ResponseEntity<CursorPaginatedResponse<PatientResponseDto>> filterPatients(
+            @ParameterObject @ModelAttribute PatientFilterDto filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(patientService.filterPatients(filter, cursor, size));
+    }
+
+    /**
+     * Devuelve la ficha completa de un paciente en una sola respuesta.
+     * @param id    identificador único del paciente
+     * @param limit cantidad de diagnósticos y seguimientos más recientes a incluir (máximo 50)
+     * @return datos del paciente, antecedentes médicos, historia clínica, últimos diagnósticos y seguimientos
+     */
+    @GetMapping("/{id}/chart")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSIONAL')")
+    @Operation(summary = "Ficha completa del paciente", description = "Devuelve en una sola respuesta los datos del paciente, " +
+            "sus antecedentes médicos, su historia clínica y los últimos diagnósticos y seguimientos, leídos de una misma " +
+            "instantánea de la base de datos.")
+    public ResponseEntity<StreamingResponseBody> getPatientChart(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(patientChartService.getChart(id, limit));
+    }
+
     /**
      * Busca un paciente por su ID.
      * @param id identificador único del paciente
@@ -121,24 +243,47 @@ public class PatientController {
     }
 
 
+    /**
+     * Búsqueda rápida de pacientes para recepción.
+     * @param q     DNI, fragmento de nombre o apellido, o nombre del tutor
+     * @param limit cantidad máxima de resultados (máximo 50)
+     * @return lista de pacientes coincidentes, vacía si no hay resultados
+     */
+    @GetMapping("/lookup")
+    @Operation(
+            summary = "Búsqueda rápida de pacientes",
+            description = "Busca pacientes activos por DNI exacto, por palabras del nombre o apellido que empiecen con " +
+                    "los términos ingresados, o por el nombre del tutor. Ignora mayúsculas y tildes."
+    )
+    public ResponseEntity<List<PatientResponseDto>> lookupPatients(
+            @RequestParam("q") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(patientService.lookupPatients(q, limit));
+    }
+
     /**
      * Busca pacientes por nombre, apellido o ambos.
      * Solo se permiten letras, tildes y espacios.
      * @param name     nombre del paciente (opcional)
      * @param lastName apellido del paciente (opcional)
-     * @return lista de pacientes coincidentes
+     * @param page     número de página (comienza en 0)
+     * @param size     cantidad de resultados por página (máximo 50)
+     * @return lista de pacientes coincidentes, los más parecidos primero
      * @throws InvalidNameFormatException si alguno de los campos contiene números o caracteres especiales
      */
     @GetMapping("/search/name")
     @Operation(
             summary = "Buscar paciente por nombre o apellido",
-            description = "Busca un paciente por nombre, apellido o ambos (coincidencia parcial o total). " +
+            description = "Busca un paciente por nombre, apellido o ambos (coincidencia parcial o total, sin distinguir " +
+                    "tildes y tolerando errores de tipeo menores). Los resultados se ordenan por similitud y se paginan. " +
                     "Se debe completar al menos uno de los dos campos. Si se ingresan caracteres especiales o números, " +
                     "el sistema devolverá un error indicando que solo se permiten letras."
     )
     public ResponseEntity<List<PatientResponseDto>> getPatientsByName(
             @RequestParam(name = "name", required = false) String name,
-            @RequestParam(name = "lastName", required = false) String lastName) {
+            @RequestParam(name = "lastName", required = false) String lastName,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
 
         name = (name == null || name.trim().isEmpty()) ? null : name.trim();
         lastName = (lastName == null || lastName.trim().isEmpty()) ? null : lastName.trim();
@@ -153,7 +298,7 @@ public class PatientController {
             throw new InvalidNameFormatException("Los campos 'name' y 'lastName' deben contener solo letras.");
         }
 
-        return ResponseEntity.ok(patientService.getPatientsByName(name,lastName));
+        return ResponseEntity.ok(patientService.getPatientsByName(name, lastName, page, size));
     }
 
 
@@ -0,0 +1,45 @@
+package com.clinica.aura.modules.patient.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Orden y criterios opcionales para listar los pacientes asignados a un profesional. Los campos
+ * nulos o vacíos no filtran y los criterios presentes se combinan con AND.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CaseloadFilterDto {
+
+    public enum Sort {
+        LAST_NAME, ID
+    }
+
+    @Schema(description = "Orden del listado: por apellido (LAST_NAME) o por id (ID)", example = "LAST_NAME")
+    private Sort sort = Sort.LAST_NAME;
+
+    @Schema(description = "Nombre o apellido, sin distinguir mayúsculas ni acentos", example = "gomez")
+    private String name;
+
+    @Schema(description = "Género del paciente", example = "femenino")
+    private String genre;
+
+    @Schema(description = "Nombre de la obra social, sin distinguir mayúsculas", example = "OSDE")
+    private String insuranceName;
+
+    @Schema(description = "Si el paciente tiene obra social", example = "true")
+    private Boolean hasInsurance;
+
+    /**
+     * Indica si se pidió algún criterio de filtrado (el orden no cuenta).
+     */
+    public boolean hasCriteria() {
+        return (name != null && !name.isBlank())
+                || (genre != null && !genre.isBlank())
+                || (insuranceName != null && !insuranceName.isBlank())
+                || hasInsurance != null;
+    }
+}
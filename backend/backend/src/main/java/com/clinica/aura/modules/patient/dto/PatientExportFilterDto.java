@@ -0,0 +1,42 @@
+package com.clinica.aura.modules.patient.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionales de la exportación de pacientes. Los campos nulos no filtran;
+ * siempre se exportan solo pacientes activos.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PatientExportFilterDto {
+
+    @Schema(description = "Solo pacientes con (true) o sin (false) obra social", example = "true")
+    private Boolean hasInsurance;
+
+    @Schema(description = "Nombre de la obra social, sin distinguir mayúsculas", example = "OSDE")
+    private String insuranceName;
+
+    @Schema(description = "Género del paciente", example = "femenino")
+    private String genre;
+
+    @Schema(description = "ID de la escuela", example = "1")
+    private Long schoolId;
+
+    @Schema(description = "ID de un profesional asignado", example = "2")
+    private Long professionalId;
+
+    @Schema(description = "Nacidos desde esta fecha (inclusive)", example = "2015-01-01")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate bornFrom;
+
+    @Schema(description = "Nacidos hasta esta fecha (inclusive)", example = "2020-12-31")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate bornTo;
+}
@@ -0,0 +1,37 @@
+package com.clinica.aura.modules.patient.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Criterios opcionales para filtrar pacientes activos. Los campos nulos o vacíos no filtran y
+ * los criterios presentes se combinan con AND.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PatientFilterDto {
+
+    @Schema(description = "Nombre de la obra social, sin distinguir mayúsculas", example = "OSDE")
+    private String insuranceName;
+
+    @Schema(description = "Plan de la obra social, sin distinguir mayúsculas", example = "210")
+    private String insurancePlan;
+
+    @Schema(description = "ID de la escuela", example = "1")
+    private Long schoolId;
+
+    @Schema(description = "ID de un profesional asignado", example = "2")
+    private Long professionalId;
+
+    @Schema(description = "Género del paciente", example = "femenino")
+    private String genre;
+
+    @Schema(description = "Edad mínima en años (inclusive)", example = "3")
+    private Integer minAge;
+
+    @Schema(description = "Edad máxima en años (inclusive)", example = "13")
+    private Integer maxAge;
+}
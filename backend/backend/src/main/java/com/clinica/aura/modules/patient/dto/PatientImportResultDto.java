@@ -0,0 +1,30 @@
+package com.clinica.aura.modules.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO de salida de la importación masiva de pacientes.
+ * Informa cuántas filas se recibieron, cuántas se importaron y, por cada fila rechazada,
+ * su número (la primera fila de datos es la 1) y los motivos.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class PatientImportResultDto {
+    private int received;
+    private int imported;
+    private int rejected;
+    private List<RowError> errors;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String dni;
+        private List<String> messages;
+    }
+}
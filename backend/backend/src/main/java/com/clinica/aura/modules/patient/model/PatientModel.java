@@ -1,5 +1,7 @@
 package com.clinica.aura.modules.patient.model;
 
+import com.clinica.aura.modules.change_feed.service.ChangeFeedListener;
+import com.clinica.aura.modules.patient.service.PatientLookupListener;
 import com.clinica.aura.modules.person.model.PersonModel;
 import com.clinica.aura.modules.professional.model.ProfessionalModel;
 import com.clinica.aura.modules.school.model.SchoolModel;
@@ -33,7 +35,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "patients")
+@Table(name = "patients", indexes = {
+        // Filtros de PatientSpecifications; obra social, plan y género usan índices sobre lower(...)
+        // creados por PostgresSchemaInitializer.
+        @Index(name = "idx_patients_school_id", columnList = "school_model_id, id"),
+        // Sincronización incremental (/sync/changes).
+        @Index(name = "idx_patients_updated_at_id", columnList = "updated_at, id")
+})
+@EntityListeners({PatientLookupListener.class, ChangeFeedListener.class})
 public class PatientModel {
 
     @Id
@@ -61,15 +70,16 @@ public class PatientModel {
     @JoinTable(
             name = "professional_patient",
             joinColumns = @JoinColumn(name = "patient_id"),
-            inverseJoinColumns = @JoinColumn(name = "professional_id")
+            inverseJoinColumns = @JoinColumn(name = "professional_id"),
+            indexes = @Index(name = "idx_professional_patient_professional", columnList = "professional_id, patient_id")
     )
     private List<ProfessionalModel> professionals;
 
 
-    @UpdateTimestamp
+    @CreationTimestamp
     private LocalDateTime createdAt;
 
-    @CreationTimestamp
+    @UpdateTimestamp
     private LocalDateTime updatedAt;
 
     @ManyToOne(targetEntity = SchoolModel.class, fetch = FetchType.LAZY)
@@ -0,0 +1,144 @@
+package com.clinica.aura.modules.patient.repository;
+
+import com.clinica.aura.modules.patient.model.PatientModel;
+import com.clinica.aura.modules.person.model.PersonModel;
+import com.clinica.aura.modules.user_account.models.UserModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Listado de pacientes con proyección dinámica: arma una consulta Criteria de tuplas que
+ * selecciona solo las columnas de los campos pedidos y solo agrega las uniones que esos campos
+ * necesitan ({@code person} para los datos personales, una subconsulta sobre {@code users} para el
+ * email). Los profesionales asignados se cargan con una consulta adicional únicamente si se piden.
+ * <p>
+ * Cada fila se devuelve como un mapa con los campos pedidos, en el orden de {@link #FIELDS}; los
+ * campos no pedidos no aparecen en el JSON.
+ */
+@Repository
+public class PatientProjectionRepository {
+
+    /**
+     * Campos de {@code PatientResponseDto} que se pueden pedir, en su orden de declaración.
+     */
+    public static final List<String> FIELDS = List.of(
+            "id", "name", "lastName", "phoneNumber", "birthDate", "dni", "email", "age", "genre",
+            "hasInsurance", "insuranceName", "insurancePlan", "memberShipNumber", "address", "tutorName",
+            "relationToPatient", "professionalIds", "schoolId");
+
+    private static final Set<String> PERSON_FIELDS = Set.of("name", "lastName", "phoneNumber", "birthDate", "dni", "age");
+    private static final Set<String> PATIENT_COLUMNS = Set.of(
+            "genre", "hasInsurance", "insuranceName", "insurancePlan", "memberShipNumber", "address",
+            "tutorName", "relationToPatient");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Obtiene una página de pacientes activos ordenados por id con los campos pedidos.
+     *
+     * @param fields campos a devolver (validados con {@code SparseFieldset})
+     * @param limit  cantidad máxima de filas
+     * @param offset cantidad de filas a saltear
+     * @return una fila por paciente con solo los campos pedidos
+     */
+    public List<Map<String, Object>> findActivePage(Set<String> fields, int limit, long offset) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<PatientModel> patient = query.from(PatientModel.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(patient.get("id").alias("id"));
+
+        if (fields.stream().anyMatch(PERSON_FIELDS::contains)) {
+            Join<PatientModel, PersonModel> person = patient.join("person");
+            for (String field : List.of("name", "lastName", "phoneNumber", "dni")) {
+                if (fields.contains(field)) {
+                    selections.add(person.get(field).alias(field));
+                }
+            }
+            if (fields.contains("birthDate") || fields.contains("age")) {
+                selections.add(person.get("birthDate").alias("birthDate"));
+            }
+        }
+        for (String field : PATIENT_COLUMNS) {
+            if (fields.contains(field)) {
+                selections.add(patient.get(field).alias(field));
+            }
+        }
+        if (fields.contains("schoolId")) {
+            // Se lee la clave foránea; no se une con schools.
+            selections.add(patient.get("schoolModel").get("id").alias("schoolId"));
+        }
+        if (fields.contains("email")) {
+            Subquery<String> email = query.subquery(String.class);
+            Root<UserModel> user = email.from(UserModel.class);
+            email.select(user.<String>get("email")).where(cb.equal(user.get("person").get("id"), patient.get("id")));
+            selections.add(email.alias("email"));
+        }
+
+        query.multiselect(selections)
+                .where(cb.isFalse(patient.<Boolean>get("deleted")))
+                .orderBy(cb.asc(patient.get("id")));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+
+        Map<Long, List<Long>> professionalIds = fields.contains("professionalIds")
+                ? findProfessionalIds(tuples.stream().map(tuple -> tuple.get("id", Long.class)).toList())
+                : Map.of();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Long id = tuple.get("id", Long.class);
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                switch (field) {
+                    case "id" -> row.put(field, id);
+                    case "age" -> {
+                        LocalDate birthDate = tuple.get("birthDate", LocalDate.class);
+                        row.put(field, birthDate == null ? 0 : Period.between(birthDate, LocalDate.now()).getYears());
+                    }
+                    case "professionalIds" -> row.put(field, professionalIds.getOrDefault(id, List.of()));
+                    default -> row.put(field, tuple.get(field));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Map<Long, List<Long>> findProfessionalIds(List<Long> patientIds) {
+        Map<Long, List<Long>> byPatient = new LinkedHashMap<>();
+        if (patientIds.isEmpty()) {
+            return byPatient;
+        }
+        List<Object[]> pairs = entityManager.createQuery(
+                        "SELECT p.id, pr.id FROM PatientModel p JOIN p.professionals pr WHERE p.id IN :ids ORDER BY pr.id",
+                        Object[].class)
+                .setParameter("ids", patientIds)
+                .getResultList();
+        for (Object[] pair : pairs) {
+            byPatient.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((Long) pair[1]);
+        }
+        return byPatient;
+    }
+}
@@ -0,0 +1,255 @@
+package com.clinica.aura.modules.patient.repository;
+
+import com.clinica.aura.config.PostgresSchemaInitializer;
+import com.clinica.aura.modules.patient.dto.CaseloadFilterDto;
+import com.clinica.aura.modules.patient.dto.PatientResponseDto;
+import com.clinica.aura.util.SearchText;
+import com.clinica.aura.util.SqlArrays;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas de solo lectura sobre pacientes que arman {@link PatientResponseDto} directamente
+ * desde SQL, sin cargar entidades.
+ * <p>
+ * Cada fila trae en una sola sentencia los datos de la persona, el email del usuario (si existe),
+ * la escuela y los ids de los profesionales asignados (agregados con {@code array_agg}), por lo
+ * que listar una página cuesta siempre la misma cantidad de consultas sin importar su tamaño.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PatientReadRepository {
+
+    static final String SELECT_PATIENT = """
+            SELECT p.id, pe.name, pe.last_name, pe.phone_number, pe.birth_date, pe.dni, u.email,
+                   p.genre, p.has_insurance, p.insurance_name, p.insurance_plan, p.member_ship_number,
+                   p.address, p.tutor_name, p.relation_to_patient, p.school_model_id,
+                   (SELECT array_agg(pp.professional_id ORDER BY pp.professional_id)
+                      FROM professional_patient pp
+                      JOIN professional pr ON pr.id = pp.professional_id AND pr.deleted = false
+                     WHERE pp.patient_id = p.id) AS professional_ids
+              FROM patients p
+              JOIN person pe ON pe.id = p.id
+              LEFT JOIN users u ON u.person_id = p.id
+            """;
+
+    /**
+     * Clave de orden por apellido de las páginas keyset; coincide con el índice de expresión
+     * {@code idx_person_last_name_key_id} (ver {@link PostgresSchemaInitializer}).
+     */
+    public static final String LAST_NAME_KEY = "COALESCE(pe.last_name, '')";
+
+    static final RowMapper<PatientResponseDto> PATIENT_ROW_MAPPER = PatientReadRepository::mapRow;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PostgresSchemaInitializer schemaInitializer;
+
+    /**
+     * Obtiene una página de pacientes activos ordenados por id.
+     *
+     * @param limit  cantidad máxima de filas
+     * @param offset cantidad de filas a saltear
+     * @return los pacientes de la página
+     */
+    public List<PatientResponseDto> findActivePage(int limit, long offset) {
+        String sql = SELECT_PATIENT + """
+                 WHERE p.deleted = false
+                 ORDER BY p.id
+                 LIMIT :limit OFFSET :offset
+                """;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return jdbcTemplate.query(sql, params, PATIENT_ROW_MAPPER);
+    }
+
+    /**
+     * Obtiene pacientes activos ordenados por {@code (apellido, id)} a continuación de la última fila
+     * de la página anterior (paginación keyset). A diferencia de {@link #findActivePage}, el costo no
+     * crece con la profundidad de la página: la comparación por fila usa el índice
+     * {@code idx_person_last_name_key_id} y no se recorren las filas salteadas.
+     * <p>
+     * {@code last_name} admite nulos: se ordena por {@value #LAST_NAME_KEY}, de modo que los pacientes
+     * sin apellido van primero y la clave del cursor nunca es nula.
+     *
+     * @param afterLastName apellido de la última fila devuelta ({@code ""} si no tenía), o null para
+     *                      la primera página
+     * @param afterId       id de la última fila devuelta (ignorado si {@code afterLastName} es null)
+     * @param limit         cantidad máxima de filas
+     * @return los pacientes siguientes en el orden
+     */
+    public List<PatientResponseDto> findActiveAfter(String afterLastName, long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        String keyset = "";
+        if (afterLastName != null) {
+            keyset = " AND (" + LAST_NAME_KEY + ", pe.id) > (:lastName, :id)";
+            params.addValue("lastName", afterLastName).addValue("id", afterId);
+        }
+        String sql = SELECT_PATIENT + " WHERE p.deleted = false" + keyset
+                + " ORDER BY " + LAST_NAME_KEY + ", pe.id LIMIT :limit";
+        return jdbcTemplate.query(sql, params, PATIENT_ROW_MAPPER);
+    }
+
+    /**
+     * Busca pacientes activos por nombre y/o apellido sobre la columna normalizada
+     * {@code person.search_name}.
+     * <p>
+     * Cada término debe aparecer en el nombre completo como subcadena o, con {@code pg_trgm}
+     * disponible, como palabra parecida ({@code <%}); ambas condiciones las resuelve el índice GIN
+     * de trigramas. Los resultados se ordenan por similitud con la consulta completa. Sin
+     * {@code pg_trgm} solo se busca por subcadena y se ordena alfabéticamente.
+     *
+     * @param terms  términos de búsqueda ya normalizados con {@link com.clinica.aura.util.SearchText}
+     * @param limit  cantidad máxima de filas
+     * @param offset cantidad de filas a saltear
+     * @return los pacientes coincidentes, los más parecidos primero
+     */
+    public List<PatientResponseDto> searchByName(List<String> terms, int limit, long offset) {
+        boolean trigram = schemaInitializer.isTrigramEnabled();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", String.join(" ", terms))
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+
+        StringBuilder sql = new StringBuilder(SELECT_PATIENT).append(" WHERE p.deleted = false");
+        for (int i = 0; i < terms.size(); i++) {
+            params.addValue("term" + i, terms.get(i)).addValue("like" + i, "%" + terms.get(i) + "%");
+            sql.append(" AND (pe.search_name LIKE :like").append(i);
+            if (trigram) {
+                sql.append(" OR :term").append(i).append(" <% pe.search_name");
+            }
+            sql.append(")");
+        }
+        sql.append(trigram
+                ? " ORDER BY word_similarity(:query, pe.search_name) DESC, pe.search_name, p.id"
+                : " ORDER BY pe.search_name, p.id");
+        sql.append(" LIMIT :limit OFFSET :offset");
+
+        return jdbcTemplate.query(sql.toString(), params, PATIENT_ROW_MAPPER);
+    }
+
+    /**
+     * Obtiene los pacientes activos asignados a un profesional, partiendo directamente de
+     * {@code professional_patient} (índice {@code idx_professional_patient_professional}) y con
+     * paginación keyset en el orden pedido: {@code (apellido, id)} o {@code id}. Como en
+     * {@link #findActiveAfter}, el apellido nulo se ordena como {@code ""}.
+     *
+     * @param professionalId id del profesional
+     * @param filter         orden y criterios opcionales
+     * @param afterKey       apellido de la última fila devuelta ({@code ""} si no tenía; solo para
+     *                       orden por apellido), o null
+     * @param afterId        id de la última fila devuelta, o null para la primera página
+     * @param limit          cantidad máxima de filas
+     * @return los pacientes siguientes en el orden
+     */
+    public List<PatientResponseDto> findActiveByProfessional(long professionalId, CaseloadFilterDto filter,
+                                                             String afterKey, Long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("professionalId", professionalId)
+                .addValue("limit", limit);
+        StringBuilder sql = new StringBuilder(SELECT_PATIENT).append("""
+                  JOIN professional_patient cp ON cp.patient_id = p.id
+                 WHERE cp.professional_id = :professionalId AND p.deleted = false
+                """);
+
+        List<String> terms = SearchText.terms(filter.getName());
+        for (int i = 0; i < terms.size(); i++) {
+            params.addValue("like" + i, "%" + terms.get(i) + "%");
+            sql.append(" AND pe.search_name LIKE :like").append(i);
+        }
+        if (filter.getGenre() != null && !filter.getGenre().isBlank()) {
+            params.addValue("genre", filter.getGenre().trim());
+            sql.append(" AND lower(p.genre) = lower(:genre)");
+        }
+        if (filter.getInsuranceName() != null && !filter.getInsuranceName().isBlank()) {
+            params.addValue("insuranceName", filter.getInsuranceName().trim());
+            sql.append(" AND lower(p.insurance_name) = lower(:insuranceName)");
+        }
+        if (filter.getHasInsurance() != null) {
+            params.addValue("hasInsurance", filter.getHasInsurance());
+            sql.append(" AND p.has_insurance = :hasInsurance");
+        }
+
+        if (filter.getSort() == CaseloadFilterDto.Sort.ID) {
+            if (afterId != null) {
+                params.addValue("afterId", afterId);
+                sql.append(" AND p.id > :afterId");
+            }
+            sql.append(" ORDER BY p.id");
+        } else {
+            if (afterId != null) {
+                params.addValue("afterKey", afterKey).addValue("afterId", afterId);
+                sql.append(" AND (").append(LAST_NAME_KEY).append(", pe.id) > (:afterKey, :afterId)");
+            }
+            sql.append(" ORDER BY ").append(LAST_NAME_KEY).append(", pe.id");
+        }
+        sql.append(" LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, PATIENT_ROW_MAPPER);
+    }
+
+    /**
+     * Obtiene los pacientes activos con los ids dados, en el mismo orden que la lista recibida.
+     * Los ids inexistentes o de pacientes eliminados se omiten.
+     *
+     * @param ids ids de los pacientes
+     * @return los pacientes encontrados
+     */
+    public List<PatientResponseDto> findActiveByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = SELECT_PATIENT + " WHERE p.deleted = false AND p.id IN (:ids)";
+        Map<Long, PatientResponseDto> byId = jdbcTemplate.query(sql, new MapSqlParameterSource("ids", ids), PATIENT_ROW_MAPPER)
+                .stream()
+                .collect(Collectors.toMap(PatientResponseDto::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Cuenta los pacientes activos.
+     */
+    public long countActive() {
+        Long count = jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT count(*) FROM patients WHERE deleted = false", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static PatientResponseDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        LocalDate birthDate = rs.getObject("birth_date", LocalDate.class);
+
+        return PatientResponseDto.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .lastName(rs.getString("last_name"))
+                .phoneNumber(rs.getString("phone_number"))
+                .birthDate(birthDate)
+                .dni(rs.getString("dni"))
+                .email(rs.getString("email"))
+                .age(birthDate == null ? 0 : Period.between(birthDate, LocalDate.now()).getYears())
+                .genre(rs.getString("genre"))
+                .hasInsurance(rs.getBoolean("has_insurance"))
+                .insuranceName(rs.getString("insurance_name"))
+                .insurancePlan(rs.getString("insurance_plan"))
+                .memberShipNumber(rs.getString("member_ship_number"))
+                .address(rs.getString("address"))
+                .tutorName(rs.getString("tutor_name"))
+                .relationToPatient(rs.getString("relation_to_patient"))
+                .schoolId(rs.getObject("school_model_id", Long.class))
+                .professionalIds(SqlArrays.toLongList(rs.getArray("professional_ids")))
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.clinica.aura.modules.patient.repository;
+
+import com.clinica.aura.modules.patient.dto.PatientFilterDto;
+import com.clinica.aura.modules.patient.model.PatientModel;
+import com.clinica.aura.modules.professional.model.ProfessionalModel;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Predicados reutilizables sobre {@link PatientModel} para {@link PatientRepository#findBy}.
+ * <p>
+ * Cada predicado está pensado para resolverse con un índice:
+ * <ul>
+ *     <li>obra social, plan y género comparan {@code lower(columna)}, cubiertos por índices de
+ *     expresión que crea {@code PostgresSchemaInitializer};</li>
+ *     <li>escuela y fecha de nacimiento usan los índices declarados en las entidades;</li>
+ *     <li>el profesional asignado es un {@code EXISTS} sobre {@code professional_patient},
+ *     indexada por {@code (professional_id, patient_id)}.</li>
+ * </ul>
+ * La edad se traduce a un rango de fechas de nacimiento calculado una vez por consulta, de modo
+ * que el filtro no evalúa una función por fila.
+ */
+public final class PatientSpecifications {
+
+    private PatientSpecifications() {
+    }
+
+    /**
+     * Combina los criterios presentes en el filtro con los pacientes activos.
+     */
+    public static Specification<PatientModel> matching(PatientFilterDto filter) {
+        Specification<PatientModel> spec = active();
+        if (hasText(filter.getInsuranceName())) {
+            spec = spec.and(equalsIgnoreCase("insuranceName", filter.getInsuranceName()));
+        }
+        if (hasText(filter.getInsurancePlan())) {
+            spec = spec.and(equalsIgnoreCase("insurancePlan", filter.getInsurancePlan()));
+        }
+        if (hasText(filter.getGenre())) {
+            spec = spec.and(equalsIgnoreCase("genre", filter.getGenre()));
+        }
+        if (filter.getSchoolId() != null) {
+            spec = spec.and(inSchool(filter.getSchoolId()));
+        }
+        if (filter.getProfessionalId() != null) {
+            spec = spec.and(assignedTo(filter.getProfessionalId()));
+        }
+        if (filter.getMinAge() != null || filter.getMaxAge() != null) {
+            spec = spec.and(ageBetween(filter.getMinAge(), filter.getMaxAge(), LocalDate.now()));
+        }
+        return spec;
+    }
+
+    public static Specification<PatientModel> active() {
+        return (root, query, cb) -> cb.isFalse(root.<Boolean>get("deleted"));
+    }
+
+    public static Specification<PatientModel> equalsIgnoreCase(String attribute, String value) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.<String>get(attribute)), value.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<PatientModel> inSchool(Long schoolId) {
+        return (root, query, cb) -> cb.equal(root.get("schoolModel").get("id"), schoolId);
+    }
+
+    public static Specification<PatientModel> assignedTo(Long professionalId) {
+        return (root, query, cb) -> {
+            Subquery<Long> assignment = query.subquery(Long.class);
+            Root<PatientModel> assigned = assignment.from(PatientModel.class);
+            Join<PatientModel, ProfessionalModel> professional = assigned.join("professionals");
+            assignment.select(assigned.get("id"))
+                    .where(cb.equal(assigned.get("id"), root.get("id")),
+                            cb.equal(professional.get("id"), professionalId));
+            return cb.exists(assignment);
+        };
+    }
+
+    /**
+     * Pacientes cuya edad al día {@code today} está entre {@code minAge} y {@code maxAge} años
+     * inclusive. Tener al menos N años equivale a haber nacido hasta {@code today - N años}; tener
+     * como máximo N años, a haber nacido después de {@code today - (N + 1) años}.
+     */
+    public static Specification<PatientModel> ageBetween(Integer minAge, Integer maxAge, LocalDate today) {
+        return (root, query, cb) -> {
+            var birthDate = root.get("person").<LocalDate>get("birthDate");
+            var predicate = cb.conjunction();
+            if (minAge != null) {
+                predicate = cb.and(predicate, cb.lessThanOrEqualTo(birthDate, today.minusYears(minAge)));
+            }
+            if (maxAge != null) {
+                predicate = cb.and(predicate, cb.greaterThan(birthDate, today.minusYears(maxAge + 1L)));
+            }
+            return predicate;
+        };
+    }
+
+    /**
+     * Keyset: pacientes con id mayor al último devuelto.
+     */
+    public static Specification<PatientModel> idAfter(Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
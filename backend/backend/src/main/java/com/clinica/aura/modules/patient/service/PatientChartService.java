@@ -0,0 +1,226 @@
+package com.clinica.aura.modules.patient.service;
+
+import com.clinica.aura.exceptions.PatientNotFoundException;
+import com.clinica.aura.modules.diagnoses.dtoResponse.DiagnosesResponseDto;
+import com.clinica.aura.modules.follow_up_entries.dtoResponse.FollowUpEntriesDtoResponse;
+import com.clinica.aura.modules.medical_background.dto.MedicalBackgroundResponseDto;
+import com.clinica.aura.modules.medical_records.dtoResponse.MedicalRecordsResponseDto;
+import com.clinica.aura.modules.patient.repository.PatientReadRepository;
+import com.clinica.aura.modules.patient.repository.PatientRepository;
+import com.clinica.aura.util.SqlArrays;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Arma la ficha completa de un paciente en una sola respuesta: datos del paciente, antecedentes
+ * médicos, historia clínica y los últimos diagnósticos y seguimientos.
+ * <p>
+ * Todas las lecturas se hacen en una única transacción de solo lectura con aislamiento
+ * {@code REPEATABLE READ}, de modo que las secciones corresponden a la misma instantánea de la
+ * base aunque otro usuario esté editando la ficha. Cada sección es una sola consulta SQL (sin
+ * cargas perezosas) y se escribe en la respuesta con un {@link JsonGenerator} apenas se lee; los
+ * diagnósticos y seguimientos se escriben fila por fila.
+ * <p>
+ * Las consultas comparten la conexión de la transacción, por lo que se ejecutan una tras otra.
+ */
+@Service
+public class PatientChartService {
+
+    static final int MAX_ENTRIES = 50;
+
+    private static final String SELECT_BACKGROUND = """
+            SELECT mb.id, mb.patient_id, mb.created_at, mb.updated_at,
+                   (SELECT array_agg(a.allergy) FROM medical_background_allergies a
+                     WHERE a.medical_background_id = mb.id) AS allergies,
+                   (SELECT array_agg(d.disability) FROM medical_background_disabilities d
+                     WHERE d.medical_background_id = mb.id) AS disabilities
+              FROM medical_background mb
+             WHERE mb.patient_id = :patientId
+             ORDER BY mb.id
+             LIMIT 1
+            """;
+    private static final String SELECT_RECORD = """
+            SELECT mr.id, mr.patient_id, mr.created_by_professional_id, mr.created_at, mr.updated_at,
+                   (SELECT array_agg(d.id ORDER BY d.id) FROM diagnoses d
+                     WHERE d.medical_record_id = mr.id) AS diagnosis_ids,
+                   (SELECT array_agg(f.id ORDER BY f.id) FROM follow_up_entries f
+                     WHERE f.medical_record_id = mr.id) AS follow_up_ids
+              FROM medical_records mr
+             WHERE mr.patient_id = :patientId
+             ORDER BY mr.id
+             LIMIT 1
+            """;
+    private static final String SELECT_LATEST_DIAGNOSES = """
+            SELECT d.id, d.created_at, d.title, d.details, d.updated_by_professional_id, d.medical_record_id
+              FROM diagnoses d
+              JOIN medical_records mr ON mr.id = d.medical_record_id
+             WHERE mr.patient_id = :patientId
+             ORDER BY d.created_at DESC, d.id DESC
+             LIMIT :limit
+            """;
+    private static final String SELECT_LATEST_FOLLOW_UPS = """
+            SELECT f.id, f.observations, f.interventions, f.next_session_instructions, f.created_at, f.updated_at,
+                   f.updated_by_professional_id, f.medical_record_id
+              FROM follow_up_entries f
+              JOIN medical_records mr ON mr.id = f.medical_record_id
+             WHERE mr.patient_id = :patientId
+             ORDER BY f.created_at DESC, f.id DESC
+             LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PatientReadRepository patientReadRepository;
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public PatientChartService(NamedParameterJdbcTemplate jdbcTemplate, PatientReadRepository patientReadRepository,
+                               PatientRepository patientRepository, PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.patientReadRepository = patientReadRepository;
+        this.patientRepository = patientRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Prepara la ficha del paciente. La existencia del paciente se verifica antes de empezar a
+     * escribir, para poder responder 404; el resto se lee cuando el contenedor escribe la respuesta.
+     *
+     * @param patientId id del paciente
+     * @param limit     cantidad de diagnósticos y de seguimientos más recientes a incluir
+     *                  (entre 1 y {@value #MAX_ENTRIES})
+     * @return el cuerpo JSON de la respuesta
+     * @throws PatientNotFoundException si el paciente no existe o está eliminado
+     */
+    public StreamingResponseBody getChart(Long patientId, int limit) {
+        if (!patientRepository.existsByIdAndDeletedFalse(patientId)) {
+            throw new PatientNotFoundException("Paciente no encontrado con ID: " + patientId);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("patientId", patientId)
+                .addValue("limit", Math.max(1, Math.min(limit, MAX_ENTRIES)));
+
+        return out -> {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try {
+                        writeChart(json, patientId, params);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            json.flush();
+        };
+    }
+
+    private void writeChart(JsonGenerator json, Long patientId, MapSqlParameterSource params) throws IOException {
+        json.writeStartObject();
+
+        json.writeFieldName("patient");
+        json.writeObject(patientReadRepository.findActiveByIds(List.of(patientId)).stream().findFirst().orElse(null));
+
+        json.writeFieldName("medicalBackground");
+        json.writeObject(jdbcTemplate.query(SELECT_BACKGROUND, params, PatientChartService::mapBackground)
+                .stream().findFirst().orElse(null));
+
+        json.writeFieldName("medicalRecord");
+        json.writeObject(jdbcTemplate.query(SELECT_RECORD, params, PatientChartService::mapRecord)
+                .stream().findFirst().orElse(null));
+
+        json.writeArrayFieldStart("diagnoses");
+        jdbcTemplate.query(SELECT_LATEST_DIAGNOSES, params, rs -> {
+            writeRow(json, mapDiagnosis(rs));
+        });
+        json.writeEndArray();
+
+        json.writeArrayFieldStart("followUps");
+        jdbcTemplate.query(SELECT_LATEST_FOLLOW_UPS, params, rs -> {
+            writeRow(json, mapFollowUp(rs));
+        });
+        json.writeEndArray();
+
+        json.writeEndObject();
+    }
+
+    private static void writeRow(JsonGenerator json, Object row) {
+        try {
+            json.writeObject(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Los mapeos leen las columnas de las consultas de esta clase; SyncService los reutiliza con
+     * consultas que devuelven las mismas columnas.
+     */
+
+    public static MedicalBackgroundResponseDto mapBackground(ResultSet rs, int rowNum) throws SQLException {
+        return MedicalBackgroundResponseDto.builder()
+                .id(rs.getLong("id"))
+                .patientId(rs.getLong("patient_id"))
+                .allergies(SqlArrays.toStringList(rs.getArray("allergies")))
+                .disabilities(SqlArrays.toStringList(rs.getArray("disabilities")))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    public static MedicalRecordsResponseDto mapRecord(ResultSet rs, int rowNum) throws SQLException {
+        return MedicalRecordsResponseDto.builder()
+                .id(rs.getLong("id"))
+                .patientId(rs.getLong("patient_id"))
+                .professionalId(rs.getLong("created_by_professional_id"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .diagnosisIds(SqlArrays.toLongList(rs.getArray("diagnosis_ids")))
+                .followUpIds(SqlArrays.toLongList(rs.getArray("follow_up_ids")))
+                .build();
+    }
+
+    public static DiagnosesResponseDto mapDiagnosis(ResultSet rs) throws SQLException {
+        return new DiagnosesResponseDto(
+                rs.getLong("id"),
+                rs.getObject("created_at", LocalDate.class),
+                rs.getString("title"),
+                rs.getString("details"),
+                rs.getLong("updated_by_professional_id"),
+                rs.getLong("medical_record_id"));
+    }
+
+    public static FollowUpEntriesDtoResponse mapFollowUp(ResultSet rs) throws SQLException {
+        return FollowUpEntriesDtoResponse.builder()
+                .id(rs.getLong("id"))
+                .observations(rs.getString("observations"))
+                .interventions(rs.getString("interventions"))
+                .nextSessionInstructions(rs.getString("next_session_instructions"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .professionalId(rs.getLong("updated_by_professional_id"))
+                .medicalRecordId(rs.getLong("medical_record_id"))
+                .build();
+    }
+}
@@ -0,0 +1,353 @@
+package com.clinica.aura.modules.patient.service;
+
+import com.clinica.aura.exceptions.InvalidExportRequestException;
+import com.clinica.aura.modules.patient.dto.PatientExportFilterDto;
+import com.clinica.aura.util.SqlArrays;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Exportación de pacientes activos a CSV o NDJSON sin cargar la tabla en memoria.
+ * <p>
+ * La consulta se ejecuta con un fetch size de {@value #FETCH_SIZE} filas dentro de una transacción
+ * de solo lectura, que es lo que necesita PostgreSQL para usar un cursor del lado del servidor; cada
+ * fila se escribe en la respuesta apenas se lee. El consumo de memoria no depende de la cantidad de
+ * pacientes.
+ * <p>
+ * Las columnas y los filtros se toman de listas cerradas ({@link ExportColumn},
+ * {@link PatientExportFilterDto}); ningún valor recibido se concatena en el SQL.
+ */
+@Slf4j
+@Service
+public class PatientExportService {
+
+    static final int FETCH_SIZE = 500;
+    /**
+     * Caracteres iniciales que una planilla de cálculo interpreta como fórmula; las celdas CSV que
+     * empiezan con ellos se exportan precedidas de {@code '}.
+     */
+    static final String CSV_FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public PatientExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Formatos de exportación soportados.
+     */
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @throws InvalidExportRequestException si el formato no es csv ni ndjson
+         */
+        public static ExportFormat parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidExportRequestException("Formato no soportado: " + value + ". Use csv o ndjson");
+            }
+        }
+    }
+
+    /**
+     * Columnas exportables. El nombre público coincide con el campo de {@code PatientResponseDto}.
+     */
+    public enum ExportColumn {
+        ID("id", "p.id", ValueType.LONG),
+        DNI("dni", "pe.dni", ValueType.STRING),
+        NAME("name", "pe.name", ValueType.STRING),
+        LAST_NAME("lastName", "pe.last_name", ValueType.STRING),
+        PHONE_NUMBER("phoneNumber", "pe.phone_number", ValueType.STRING),
+        BIRTH_DATE("birthDate", "pe.birth_date", ValueType.DATE),
+        EMAIL("email", "u.email", ValueType.STRING),
+        GENRE("genre", "p.genre", ValueType.STRING),
+        HAS_INSURANCE("hasInsurance", "p.has_insurance", ValueType.BOOLEAN),
+        INSURANCE_NAME("insuranceName", "p.insurance_name", ValueType.STRING),
+        INSURANCE_PLAN("insurancePlan", "p.insurance_plan", ValueType.STRING),
+        MEMBER_SHIP_NUMBER("memberShipNumber", "p.member_ship_number", ValueType.STRING),
+        ADDRESS("address", "p.address", ValueType.STRING),
+        TUTOR_NAME("tutorName", "p.tutor_name", ValueType.STRING),
+        RELATION_TO_PATIENT("relationToPatient", "p.relation_to_patient", ValueType.STRING),
+        SCHOOL_ID("schoolId", "p.school_model_id", ValueType.LONG),
+        PROFESSIONAL_IDS("professionalIds", """
+                (SELECT array_agg(pp.professional_id ORDER BY pp.professional_id)
+                   FROM professional_patient pp
+                   JOIN professional pr ON pr.id = pp.professional_id AND pr.deleted = false
+                  WHERE pp.patient_id = p.id)""", ValueType.LONG_ARRAY),
+        CREATED_AT("createdAt", "p.created_at", ValueType.DATE_TIME),
+        UPDATED_AT("updatedAt", "p.updated_at", ValueType.DATE_TIME);
+
+        private final String field;
+        private final String expression;
+        private final ValueType type;
+
+        ExportColumn(String field, String expression, ValueType type) {
+            this.field = field;
+            this.expression = expression;
+            this.type = type;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        /**
+         * Convierte la lista separada por comas en columnas, conservando el orden pedido.
+         * Una lista vacía o nula selecciona todas las columnas.
+         *
+         * @throws InvalidExportRequestException si alguna columna no existe
+         */
+        public static List<ExportColumn> parse(String columns) {
+            if (columns == null || columns.isBlank()) {
+                return List.of(values());
+            }
+            Set<ExportColumn> selected = new LinkedHashSet<>();
+            for (String name : columns.split(",")) {
+                String trimmed = name.trim();
+                ExportColumn column = Arrays.stream(values())
+                        .filter(c -> c.field.equals(trimmed))
+                        .findFirst()
+                        .orElseThrow(() -> new InvalidExportRequestException("Columna desconocida: " + trimmed
+                                + ". Columnas válidas: " + Arrays.stream(values()).map(c -> c.field).toList()));
+                selected.add(column);
+            }
+            return List.copyOf(selected);
+        }
+    }
+
+    private enum ValueType {
+        STRING, LONG, BOOLEAN, DATE, DATE_TIME, LONG_ARRAY
+    }
+
+    /**
+     * Prepara la exportación. Los parámetros ya deben estar validados; la consulta se ejecuta
+     * recién cuando el contenedor escribe la respuesta.
+     *
+     * @param format  formato de salida
+     * @param columns columnas a exportar, en orden
+     * @param filter  filtros opcionales
+     * @return el cuerpo de la respuesta, escrito fila por fila
+     */
+    public StreamingResponseBody export(ExportFormat format, List<ExportColumn> columns, PatientExportFilterDto filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = buildQuery(columns, filter, params);
+
+        return out -> {
+            long start = System.nanoTime();
+            RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out, columns) : new NdjsonRowWriter(out, columns);
+            long[] rows = {0};
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, params, rs -> {
+                    try {
+                        writer.write(rs);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                }));
+                writer.finish();
+            } catch (UncheckedIOException e) {
+                // El cliente cerró la conexión: se cancela la consulta al salir de la transacción.
+                log.warn("Exportación de pacientes interrumpida tras {} filas: {}", rows[0], e.getCause().getMessage());
+                throw e.getCause();
+            }
+            log.info("Exportación de pacientes: {} filas en {} ms", rows[0], (System.nanoTime() - start) / 1_000_000);
+        };
+    }
+
+    private static String buildQuery(List<ExportColumn> columns, PatientExportFilterDto filter, MapSqlParameterSource params) {
+        String select = columns.stream()
+                .map(column -> column.expression + " AS " + column.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(", "));
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(select).append("""
+
+                  FROM patients p
+                  JOIN person pe ON pe.id = p.id
+                  LEFT JOIN users u ON u.person_id = p.id
+                 WHERE p.deleted = false""");
+
+        if (filter.getHasInsurance() != null) {
+            sql.append(" AND p.has_insurance = :hasInsurance");
+            params.addValue("hasInsurance", filter.getHasInsurance());
+        }
+        if (filter.getInsuranceName() != null && !filter.getInsuranceName().isBlank()) {
+            sql.append(" AND lower(p.insurance_name) = lower(:insuranceName)");
+            params.addValue("insuranceName", filter.getInsuranceName().trim());
+        }
+        if (filter.getGenre() != null && !filter.getGenre().isBlank()) {
+            sql.append(" AND lower(p.genre) = lower(:genre)");
+            params.addValue("genre", filter.getGenre().trim());
+        }
+        if (filter.getSchoolId() != null) {
+            sql.append(" AND p.school_model_id = :schoolId");
+            params.addValue("schoolId", filter.getSchoolId());
+        }
+        if (filter.getProfessionalId() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM professional_patient pp WHERE pp.patient_id = p.id AND pp.professional_id = :professionalId)");
+            params.addValue("professionalId", filter.getProfessionalId());
+        }
+        if (filter.getBornFrom() != null) {
+            sql.append(" AND pe.birth_date >= :bornFrom");
+            params.addValue("bornFrom", filter.getBornFrom());
+        }
+        if (filter.getBornTo() != null) {
+            sql.append(" AND pe.birth_date <= :bornTo");
+            params.addValue("bornTo", filter.getBornTo());
+        }
+        return sql.append(" ORDER BY p.id").toString();
+    }
+
+    private static Object read(ResultSet rs, ExportColumn column) throws SQLException {
+        String label = column.name().toLowerCase(Locale.ROOT);
+        return switch (column.type) {
+            case STRING -> rs.getString(label);
+            case LONG -> rs.getObject(label, Long.class);
+            case BOOLEAN -> rs.getObject(label, Boolean.class);
+            case DATE -> rs.getObject(label, LocalDate.class);
+            case DATE_TIME -> rs.getObject(label, LocalDateTime.class);
+            case LONG_ARRAY -> SqlArrays.toLongList(rs.getArray(label));
+        };
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final List<ExportColumn> columns;
+
+        CsvRowWriter(OutputStream out, List<ExportColumn> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.columns = columns;
+            writer.write(columns.stream().map(ExportColumn::getField).collect(Collectors.joining(",")));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = read(rs, columns.get(i));
+                if (value instanceof List<?> list) {
+                    value = list.stream().map(String::valueOf).collect(Collectors.joining(";"));
+                }
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Escapa una celda según RFC 4180. Si empieza con un carácter que una planilla de cálculo
+         * interpretaría como fórmula ({@code = + - @}, tabulación o retorno de carro) se le antepone
+         * {@code '} para que se muestre como texto.
+         */
+        private static String escape(String value) {
+            if (!value.isEmpty() && CSV_FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            return needsQuotes ? '"' + value.replace("\"", "\"\"") + '"' : value;
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final List<ExportColumn> columns;
+
+        NdjsonRowWriter(OutputStream out, List<ExportColumn> columns) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (ExportColumn column : columns) {
+                Object value = read(rs, column);
+                generator.writeFieldName(column.getField());
+                if (value instanceof LocalDate || value instanceof LocalDateTime) {
+                    generator.writeString(value.toString());
+                } else {
+                    generator.writeObject(value);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package com.clinica.aura.modules.patient.service;
+
+import com.clinica.aura.exceptions.InvalidImportFileException;
+import com.clinica.aura.modules.change_feed.dto.ChangeEventDto;
+import com.clinica.aura.modules.change_feed.service.ChangeFeedBroadcaster;
+import com.clinica.aura.modules.patient.dto.PatientImportResultDto;
+import com.clinica.aura.modules.patient.dto.PatientRequestDto;
+import com.clinica.aura.modules.user_account.Enum.EnumRole;
+import com.clinica.aura.modules.user_account.service.impl.AuthorityRegistry;
+import com.clinica.aura.util.SearchText;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Importación masiva de pacientes desde CSV o NDJSON (un objeto JSON por línea).
+ * <p>
+ * El cuerpo se lee en streaming y se procesa en bloques de {@value #CHUNK_SIZE} filas:
+ * <ol>
+ *     <li>cada fila se valida con las mismas restricciones que {@link PatientRequestDto}
+ *     (incluida {@code @ValidInsurance});</li>
+ *     <li>los DNI, emails, profesionales y escuelas del bloque se verifican contra la base con una
+ *     consulta por tipo ({@code IN (...)}), no una por fila;</li>
+ *     <li>las filas aceptadas se insertan con inserciones JDBC por lotes en una transacción por
+ *     bloque; los ids se reservan de antemano de las secuencias de {@code person} y {@code users}.</li>
+ * </ol>
+ * Un error en una fila no detiene la importación: se informa en el resultado con su número. Si falla
+ * la escritura de un bloque (por ejemplo, un DNI cargado en paralelo), se rechazan sus filas y se sigue
+ * con el siguiente.
+ * <p>
+ * Como en {@link PatientService#createUser}, los pacientes se crean sin contraseña, por lo que la
+ * importación no calcula hashes. Las inserciones no pasan por JPA: el índice de búsqueda
+ * ({@link PatientLookupIndex}) se actualiza explícitamente cuando confirma cada bloque, los ids
+ * insertados se publican a las demás instancias y cada paciente se publica como
+ * {@link ChangeEventDto.Operation#CREATED} en el {@link ChangeFeedBroadcaster}, igual que un alta
+ * individual.
+ */
+@Slf4j
+@Service
+public class PatientImportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final Set<String> CSV_COLUMNS = Set.of(
+            "email", "dni", "name", "lastName", "phoneNumber", "birthDate", "genre", "hasInsurance",
+            "insuranceName", "insurancePlan", "memberShipNumber", "address", "tutorName",
+            "relationToPatient", "professionalIds", "schoolId");
+
+    private static final String INSERT_PERSON = """
+            INSERT INTO person (id, dni, name, last_name, phone_number, birth_date, search_name)
+            VALUES (:id, :dni, :name, :lastName, :phoneNumber, :birthDate, :searchName)
+            """;
+    private static final String INSERT_PATIENT = """
+            INSERT INTO patients (id, has_insurance, insurance_name, address, tutor_name, relation_to_patient,
+                                  genre, insurance_plan, member_ship_number, created_at, updated_at,
+                                  school_model_id, deleted)
+            VALUES (:id, :hasInsurance, :insuranceName, :address, :tutorName, :relationToPatient,
+                    :genre, :insurancePlan, :memberShipNumber, :now, :now, :schoolId, false)
+            """;
+    private static final String INSERT_USER = """
+            INSERT INTO users (id, email, password, register_date, last_login, person_id)
+            VALUES (:id, :email, '', :today, :today, :personId)
+            """;
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO users_roles (user_id, role_id) VALUES (:userId, :roleId)";
+    private static final String INSERT_PROFESSIONAL_PATIENT =
+            "INSERT INTO professional_patient (patient_id, professional_id) VALUES (:patientId, :professionalId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AuthorityRegistry authorityRegistry;
+    private final PatientLookupIndex patientLookupIndex;
+    private final ChangeFeedBroadcaster changeFeedBroadcaster;
+
+    public PatientImportService(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper, Validator validator, AuthorityRegistry authorityRegistry,
+                                PatientLookupIndex patientLookupIndex, ChangeFeedBroadcaster changeFeedBroadcaster) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.authorityRegistry = authorityRegistry;
+        this.patientLookupIndex = patientLookupIndex;
+        this.changeFeedBroadcaster = changeFeedBroadcaster;
+    }
+
+    /**
+     * Formatos de archivo aceptados por la importación.
+     */
+    public enum ImportFormat {
+        CSV, NDJSON;
+
+        /**
+         * Determina el formato a partir del encabezado {@code Content-Type}.
+         *
+         * @throws InvalidImportFileException si el tipo de contenido no es soportado
+         */
+        public static ImportFormat fromContentType(String contentType) {
+            String type = contentType == null ? "" : contentType.toLowerCase();
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson")) {
+                return NDJSON;
+            }
+            throw new InvalidImportFileException("Tipo de contenido no soportado: " + contentType
+                    + ". Use text/csv o application/x-ndjson");
+        }
+    }
+
+    /**
+     * Importa los pacientes del cuerpo de la solicitud.
+     * <p>
+     * En CSV la primera línea es el encabezado con los nombres de los campos de
+     * {@link PatientRequestDto}; {@code professionalIds} se separa con {@code ;}. Los campos
+     * entre comillas no pueden contener saltos de línea.
+     *
+     * @param body   el contenido del archivo
+     * @param format el formato del contenido
+     * @return el resumen de la importación con los errores por fila
+     * @throws InvalidImportFileException si el encabezado CSV falta o tiene columnas desconocidas
+     * @throws IOException                si falla la lectura del cuerpo
+     */
+    public PatientImportResultDto importPatients(InputStream body, ImportFormat format) throws IOException {
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        List<String> header = format == ImportFormat.CSV ? readCsvHeader(reader) : null;
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        int rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            try {
+                PatientRequestDto dto = format == ImportFormat.CSV
+                        ? fromCsv(header, parseCsvLine(line))
+                        : objectMapper.readValue(line, PatientRequestDto.class);
+                chunk.add(new ImportRow(rowNumber, dto));
+            } catch (JsonProcessingException e) {
+                run.reject(rowNumber, null, "Fila con formato inválido: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                run.reject(rowNumber, null, "Fila con formato inválido: " + e.getMessage());
+            }
+            if (chunk.size() == CHUNK_SIZE) {
+                processChunk(chunk, run);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, run);
+        }
+
+        run.errors.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        log.info("Importación de pacientes: {} filas, {} importadas, {} rechazadas",
+                rowNumber, run.imported, run.errors.size());
+        return new PatientImportResultDto(rowNumber, run.imported, run.errors.size(), run.errors);
+    }
+
+    private void processChunk(List<ImportRow> chunk, ImportRun run) {
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            List<String> messages = validate(row.dto());
+            if (messages.isEmpty() && !run.seenDnis.add(row.dto().getDni())) {
+                messages.add("El DNI " + row.dto().getDni() + " está repetido en el archivo.");
+            }
+            if (messages.isEmpty() && !run.seenEmails.add(row.dto().getEmail())) {
+                messages.add("El correo " + row.dto().getEmail() + " está repetido en el archivo.");
+            }
+            if (messages.isEmpty()) {
+                valid.add(row);
+            } else {
+                run.reject(row.row(), row.dto().getDni(), messages);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingDnis = existing("SELECT dni FROM person WHERE dni IN (:values)",
+                valid.stream().map(row -> row.dto().getDni()).toList(), String.class);
+        Set<String> existingEmails = existing("SELECT email FROM users WHERE email IN (:values)",
+                valid.stream().map(row -> row.dto().getEmail()).toList(), String.class);
+        Set<Long> existingProfessionals = existing("SELECT id FROM professional WHERE deleted = false AND id IN (:values)",
+                valid.stream().flatMap(row -> professionalIds(row.dto()).stream()).distinct().toList(), Long.class);
+        Set<Long> existingSchools = existing("SELECT id FROM schools WHERE id IN (:values)",
+                valid.stream().map(row -> row.dto().getSchoolId()).filter(Objects::nonNull).distinct().toList(), Long.class);
+
+        List<ImportRow> accepted = new ArrayList<>(valid.size());
+        for (ImportRow row : valid) {
+            PatientRequestDto dto = row.dto();
+            List<String> messages = new ArrayList<>();
+            if (existingDnis.contains(dto.getDni())) {
+                messages.add("El DNI " + dto.getDni() + " ya está registrado en la base de datos.");
+            }
+            if (existingEmails.contains(dto.getEmail())) {
+                messages.add("El correo " + dto.getEmail() + " ya existe en la base de datos.");
+            }
+            List<Long> missingProfessionals = professionalIds(dto).stream()
+                    .filter(id -> !existingProfessionals.contains(id))
+                    .toList();
+            if (!missingProfessionals.isEmpty()) {
+                messages.add("Los siguientes profesionales no fueron encontrados: " + missingProfessionals);
+            }
+            if (dto.getSchoolId() != null && !existingSchools.contains(dto.getSchoolId())) {
+                messages.add("La escuela con ID " + dto.getSchoolId() + " no fue encontrada.");
+            }
+            if (messages.isEmpty()) {
+                accepted.add(row);
+            } else {
+                run.reject(row.row(), dto.getDni(), messages);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> personIds = insert(accepted);
+                patientLookupIndex.publish(personIds, () -> {
+                    LocalDateTime committedAt = LocalDateTime.now();
+                    for (int i = 0; i < accepted.size(); i++) {
+                        PatientRequestDto dto = accepted.get(i).dto();
+                        patientLookupIndex.upsert(personIds.get(i), dto.getDni(), dto.getName(), dto.getLastName(),
+                                dto.getTutorName(), false);
+                        changeFeedBroadcaster.publish(new ChangeEventDto(ChangeEventDto.Entity.PATIENT, personIds.get(i),
+                                ChangeEventDto.Operation.CREATED, committedAt));
+                    }
+                });
+            });
+            run.imported += accepted.size();
+        } catch (DataAccessException e) {
+            log.warn("No se pudo guardar un bloque de {} pacientes importados: {}",
+                    accepted.size(), e.getMostSpecificCause().getMessage());
+            for (ImportRow row : accepted) {
+                run.reject(row.row(), row.dto().getDni(),
+                        "No se pudo guardar la fila; otro registro con el mismo DNI o correo pudo haberse creado en paralelo. Reintente la importación de esta fila.");
+            }
+        }
+    }
+
+    private List<Long> insert(List<ImportRow> rows) {
+        List<Long> personIds = nextIds("person", rows.size());
+        List<Long> userIds = nextIds("users", rows.size());
+        Long patientRoleId = authorityRegistry.getRoleReference(EnumRole.PATIENT).getId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        List<SqlParameterSource> persons = new ArrayList<>(rows.size());
+        List<SqlParameterSource> patients = new ArrayList<>(rows.size());
+        List<SqlParameterSource> users = new ArrayList<>(rows.size());
+        List<SqlParameterSource> userRoles = new ArrayList<>(rows.size());
+        List<SqlParameterSource> assignments = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            PatientRequestDto dto = rows.get(i).dto();
+            Long personId = personIds.get(i);
+            Long userId = userIds.get(i);
+
+            persons.add(new MapSqlParameterSource()
+                    .addValue("id", personId)
+                    .addValue("dni", dto.getDni())
+                    .addValue("name", dto.getName())
+                    .addValue("lastName", dto.getLastName())
+                    .addValue("phoneNumber", dto.getPhoneNumber())
+                    .addValue("birthDate", dto.getBirthDate(), Types.DATE)
+                    .addValue("searchName", SearchText.fold(dto.getName(), dto.getLastName())));
+            patients.add(new MapSqlParameterSource()
+                    .addValue("id", personId)
+                    .addValue("hasInsurance", dto.isHasInsurance())
+                    .addValue("insuranceName", dto.getInsuranceName())
+                    .addValue("address", dto.getAddress())
+                    .addValue("tutorName", dto.getTutorName())
+                    .addValue("relationToPatient", dto.getRelationToPatient())
+                    .addValue("genre", dto.getGenre())
+                    .addValue("insurancePlan", dto.getInsurancePlan())
+                    .addValue("memberShipNumber", dto.getMemberShipNumber())
+                    .addValue("now", now, Types.TIMESTAMP)
+                    .addValue("schoolId", dto.getSchoolId(), Types.BIGINT));
+            users.add(new MapSqlParameterSource()
+                    .addValue("id", userId)
+                    .addValue("email", dto.getEmail())
+                    .addValue("today", today, Types.DATE)
+                    .addValue("personId", personId));
+            userRoles.add(new MapSqlParameterSource()
+                    .addValue("userId", userId)
+                    .addValue("roleId", patientRoleId));
+            for (Long professionalId : professionalIds(dto)) {
+                assignments.add(new MapSqlParameterSource()
+                        .addValue("patientId", personId)
+                        .addValue("professionalId", professionalId));
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PERSON, persons.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(INSERT_PATIENT, patients.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(INSERT_USER, users.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles.toArray(SqlParameterSource[]::new));
+        if (!assignments.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PROFESSIONAL_PATIENT, assignments.toArray(SqlParameterSource[]::new));
+        }
+        return personIds;
+    }
+
+    /**
+     * Reserva {@code count} ids de la secuencia (identity) de la tabla en una sola consulta.
+     */
+    private List<Long> nextIds(String table, int count) {
+        return jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence(:table, 'id')) FROM generate_series(1, :count)",
+                new MapSqlParameterSource().addValue("table", table).addValue("count", count),
+                Long.class);
+    }
+
+    private <T> Set<T> existing(String sql, Collection<T> values, Class<T> type) {
+        if (values.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(sql, new MapSqlParameterSource("values", values), type));
+    }
+
+    private List<String> validate(PatientRequestDto dto) {
+        List<String> messages = new ArrayList<>();
+        for (ConstraintViolation<PatientRequestDto> violation : validator.validate(dto)) {
+            String field = violation.getPropertyPath().toString();
+            messages.add(field.isEmpty() ? violation.getMessage() : field + ": " + violation.getMessage());
+        }
+        messages.sort(String::compareTo);
+        return messages;
+    }
+
+    private static List<Long> professionalIds(PatientRequestDto dto) {
+        return dto.getProfessionalIds() == null ? List.of() : dto.getProfessionalIds();
+    }
+
+    private List<String> readCsvHeader(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null || line.isBlank()) {
+            throw new InvalidImportFileException("El archivo CSV debe comenzar con una línea de encabezado");
+        }
+        // Quita el BOM que agregan algunas planillas al exportar en UTF-8.
+        List<String> header = parseCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line).stream()
+                .map(String::trim)
+                .toList();
+        List<String> unknown = header.stream().filter(column -> !CSV_COLUMNS.contains(column)).toList();
+        if (!unknown.isEmpty()) {
+            throw new InvalidImportFileException("Columnas desconocidas en el encabezado CSV: " + unknown
+                    + ". Columnas válidas: " + CSV_COLUMNS);
+        }
+        return header;
+    }
+
+    private PatientRequestDto fromCsv(List<String> header, List<String> values) {
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("se esperaban " + header.size() + " columnas y hay " + values.size());
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            // Deshace el escape de fórmulas de la exportación ('+54 11 ... -> +54 11 ...).
+            if (value.length() > 1 && value.charAt(0) == '\''
+                    && PatientExportService.CSV_FORMULA_PREFIXES.indexOf(value.charAt(1)) >= 0) {
+                value = value.substring(1);
+            }
+            if ("professionalIds".equals(header.get(i))) {
+                fields.put("professionalIds", Arrays.stream(value.split(";")).map(String::trim).toList());
+            } else {
+                fields.put(header.get(i), value);
+            }
+        }
+        return objectMapper.convertValue(fields, PatientRequestDto.class);
+    }
+
+    /**
+     * Separa una línea CSV (RFC 4180) en campos: admite campos entre comillas con comas y comillas
+     * duplicadas ({@code ""}) en su interior.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("comillas sin cerrar");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record ImportRow(int row, PatientRequestDto dto) {
+    }
+
+    private static class ImportRun {
+        private final Set<String> seenDnis = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final List<PatientImportResultDto.RowError> errors = new ArrayList<>();
+        private int imported;
+
+        void reject(int row, String dni, String message) {
+            reject(row, dni, List.of(message));
+        }
+
+        void reject(int row, String dni, List<String> messages) {
+            errors.add(new PatientImportResultDto.RowError(row, dni, messages));
+        }
+    }
+}
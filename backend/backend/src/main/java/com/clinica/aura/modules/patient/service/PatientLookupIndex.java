@@ -0,0 +1,321 @@
+package com.clinica.aura.modules.patient.service;
+
+import com.clinica.aura.config.notification.NotificationHandler;
+import com.clinica.aura.config.notification.NotificationPublisher;
+import com.clinica.aura.config.notification.PostgresNotificationListener;
+import com.clinica.aura.util.SearchText;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Índice en memoria de los pacientes activos para las búsquedas frecuentes de recepción.
+ * <ul>
+ *     <li>DNI → id, en un mapa hash.</li>
+ *     <li>Palabras del nombre y apellido normalizados ({@link SearchText}) → ids, en un mapa ordenado
+ *     que resuelve búsquedas por prefijo como un trie: todas las palabras que empiezan con el
+ *     prefijo están contiguas.</li>
+ *     <li>Palabras del nombre del tutor → ids, con la misma estructura.</li>
+ * </ul>
+ * Se construye al iniciar la aplicación leyendo los pacientes en streaming y se mantiene al día con
+ * {@link PatientLookupListener}, que aplica los cambios de {@code PatientModel} y {@code PersonModel}
+ * cuando confirma la transacción. Mientras se construye, {@link #isReady()} devuelve false y los
+ * llamadores deben consultar la base de datos.
+ * <p>
+ * Los ids modificados se publican con {@code pg_notify} en el canal {@value #CHANNEL}; las demás
+ * instancias los reciben en {@link PostgresNotificationListener} y vuelven a leer esos pacientes.
+ * Aun así un cambio puede tardar en llegar, por eso los llamadores confirman contra la base de
+ * datos cuando el índice no encuentra un paciente.
+ * <p>
+ * Las lecturas no bloquean; las escrituras se serializan porque actualizan varias estructuras.
+ */
+@Slf4j
+@Component
+public class PatientLookupIndex implements NotificationHandler {
+
+    public static final String CHANNEL = "patient_lookup";
+    private static final String SEPARATOR = ",";
+    // Postgres limita el payload de NOTIFY a 8000 bytes.
+    private static final int IDS_PER_NOTIFICATION = 500;
+    private static final int FETCH_SIZE = 1000;
+    private static final String SELECT_ACTIVE = """
+            SELECT p.id, pe.dni, pe.name, pe.last_name, p.tutor_name
+              FROM patients p
+              JOIN person pe ON pe.id = p.id
+             WHERE p.deleted = false
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final NotificationPublisher notificationPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByDni = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Long>> idsByNameTerm = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Set<Long>> idsByTutorTerm = new ConcurrentSkipListMap<>();
+
+    // Ids modificados por los listeners mientras se construye el índice: la fila leída en la carga
+    // puede ser anterior al cambio, así que la carga no los pisa.
+    private final Set<Long> changedWhileBuilding = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+    private volatile boolean ready;
+
+    public PatientLookupIndex(DataSource dataSource, PlatformTransactionManager transactionManager,
+                              NotificationPublisher notificationPublisher, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.notificationPublisher = notificationPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        Gauge.builder("patient.lookup.index.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Carga todos los pacientes activos. PostgreSQL solo usa un cursor (y respeta el fetch size)
+     * dentro de una transacción, por eso la lectura corre en una de solo lectura.
+     * <p>
+     * Si el índice ya estaba construido, reemplaza las entradas leídas y quita las de pacientes que
+     * dejaron de estar activos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        boolean rebuilding = ready;
+        Set<Long> loaded = new HashSet<>();
+        building = true;
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT_ACTIVE, rs -> {
+                long id = rs.getLong("id");
+                loaded.add(id);
+                if (!changedWhileBuilding.contains(id)) {
+                    put(new Entry(id, rs.getString("dni"),
+                            SearchText.terms(rs.getString("name"), rs.getString("last_name")),
+                            SearchText.terms(rs.getString("tutor_name"))), rebuilding);
+                }
+            }));
+            if (rebuilding) {
+                entries.keySet().stream()
+                        .filter(id -> !loaded.contains(id) && !changedWhileBuilding.contains(id))
+                        .toList()
+                        .forEach(this::remove);
+            }
+            ready = true;
+            log.info("Índice de pacientes construido: {} pacientes en {} ms",
+                    entries.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("No se pudo construir el índice de pacientes; las búsquedas usarán la base de datos", e);
+        } finally {
+            building = false;
+            changedWhileBuilding.clear();
+        }
+    }
+
+    /**
+     * Indica si el índice terminó de construirse y puede responder sin consultar la base de datos.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Busca el id del paciente activo con el DNI dado.
+     */
+    public Optional<Long> findIdByDni(String dni) {
+        return dni == null ? Optional.empty() : Optional.ofNullable(idsByDni.get(dni.trim()));
+    }
+
+    /**
+     * Busca pacientes cuyo nombre, apellido o nombre del tutor contengan palabras que empiecen con
+     * cada uno de los términos de la consulta. Una consulta numérica se interpreta como DNI exacto.
+     *
+     * @param query texto libre ("gonz", "maria per", "40123456"...)
+     * @param limit cantidad máxima de ids
+     * @return ids de pacientes ordenados de menor a mayor
+     */
+    public List<Long> lookup(String query, int limit) {
+        List<String> terms = SearchText.terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        if (terms.size() == 1 && terms.get(0).chars().allMatch(Character::isDigit)) {
+            return findIdByDni(terms.get(0)).map(List::of).orElse(List.of());
+        }
+
+        Set<Long> result = null;
+        for (String term : terms) {
+            Set<Long> matches = new HashSet<>();
+            collectPrefix(idsByNameTerm, term, matches);
+            collectPrefix(idsByTutorTerm, term, matches);
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                return List.of();
+            }
+        }
+        return result.stream().sorted().limit(limit).toList();
+    }
+
+    /**
+     * Publica los pacientes modificados en la transacción actual para que las demás instancias los
+     * vuelvan a leer, y aplica {@code applyLocally} en este índice cuando la transacción confirma.
+     *
+     * @param ids          ids de los pacientes (o personas) modificados
+     * @param applyLocally cambio a aplicar en este índice
+     */
+    public void publish(List<Long> ids, Runnable applyLocally) {
+        for (int from = 0; from < ids.size(); from += IDS_PER_NOTIFICATION) {
+            int to = Math.min(ids.size(), from + IDS_PER_NOTIFICATION);
+            String payload = ids.subList(from, to).stream().map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+            notificationPublisher.publish(CHANNEL, payload, to == ids.size() ? applyLocally : () -> {
+            });
+        }
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    /**
+     * Vuelve a leer de la base de datos los pacientes modificados en otra instancia.
+     *
+     * @param payload ids separados por coma
+     */
+    @Override
+    public void handle(String payload) {
+        List<Long> ids = Arrays.stream(payload.split(SEPARATOR)).map(Long::valueOf).toList();
+        Set<Long> found = new HashSet<>();
+        namedJdbcTemplate.query(SELECT_ACTIVE + " AND p.id IN (:ids)", Map.of("ids", ids), rs -> {
+            long id = rs.getLong("id");
+            found.add(id);
+            upsert(id, rs.getString("dni"), rs.getString("name"), rs.getString("last_name"),
+                    rs.getString("tutor_name"), false);
+        });
+        ids.stream().filter(id -> !found.contains(id)).forEach(this::remove);
+    }
+
+    /**
+     * Reconstruye el índice para recuperar los cambios que pudieron perderse mientras la conexión de
+     * LISTEN estuvo caída. Si la construcción inicial todavía no terminó, ella misma los incluye.
+     */
+    @Override
+    public void resync() {
+        if (ready && !building) {
+            build();
+        }
+    }
+
+    /**
+     * Agrega o reemplaza un paciente. Si está eliminado lógicamente, lo quita del índice.
+     */
+    public void upsert(Long id, String dni, String name, String lastName, String tutorName, boolean deleted) {
+        if (deleted) {
+            remove(id);
+            return;
+        }
+        markChanged(id);
+        put(new Entry(id, dni, SearchText.terms(name, lastName), SearchText.terms(tutorName)), true);
+    }
+
+    /**
+     * Actualiza los datos personales de un paciente ya indexado; ignora personas que no son pacientes
+     * activos (profesionales, recepcionistas).
+     */
+    public synchronized void updatePerson(Long id, String dni, String name, String lastName) {
+        Entry current = entries.get(id);
+        if (current != null) {
+            markChanged(id);
+            put(new Entry(id, dni, SearchText.terms(name, lastName), current.tutorTerms()), true);
+        }
+    }
+
+    /**
+     * Quita un paciente del índice.
+     */
+    public synchronized void remove(Long id) {
+        markChanged(id);
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            unlink(previous);
+        }
+    }
+
+    private void markChanged(Long id) {
+        if (building) {
+            changedWhileBuilding.add(id);
+        }
+    }
+
+    private synchronized void put(Entry entry, boolean replace) {
+        Entry previous = entries.get(entry.id());
+        if (previous != null) {
+            if (!replace) {
+                return;
+            }
+            unlink(previous);
+        }
+        entries.put(entry.id(), entry);
+        if (entry.dni() != null) {
+            idsByDni.put(entry.dni(), entry.id());
+        }
+        entry.nameTerms().forEach(term -> idsByNameTerm.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(entry.id()));
+        entry.tutorTerms().forEach(term -> idsByTutorTerm.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(entry.id()));
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.dni() != null) {
+            idsByDni.remove(entry.dni(), entry.id());
+        }
+        entry.nameTerms().forEach(term -> removeFromTerm(idsByNameTerm, term, entry.id()));
+        entry.tutorTerms().forEach(term -> removeFromTerm(idsByTutorTerm, term, entry.id()));
+    }
+
+    private static void removeFromTerm(NavigableMap<String, Set<Long>> index, String term, Long id) {
+        Set<Long> ids = index.get(term);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(term, ids);
+            }
+        }
+    }
+
+    private static void collectPrefix(NavigableMap<String, Set<Long>> index, String prefix, Set<Long> into) {
+        // Character.MAX_VALUE ordena después de cualquier continuación del prefijo.
+        for (Set<Long> ids : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            into.addAll(ids);
+        }
+    }
+
+    private record Entry(Long id, String dni, List<String> nameTerms, List<String> tutorTerms) {
+        Entry {
+            nameTerms = List.copyOf(new LinkedHashSet<>(nameTerms));
+            tutorTerms = List.copyOf(new LinkedHashSet<>(tutorTerms));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.clinica.aura.modules.patient.service;
+
+import com.clinica.aura.modules.patient.model.PatientModel;
+import com.clinica.aura.modules.person.model.PersonModel;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Listener JPA de {@link PatientModel} y {@link PersonModel} que mantiene al día el
+ * {@link PatientLookupIndex}. Los valores se leen al momento del evento y se aplican al índice
+ * recién cuando la transacción confirma, para no exponer cambios que luego se revierten; el id
+ * modificado se publica a las demás instancias con {@link PatientLookupIndex#publish}.
+ */
+@Component
+public class PatientLookupListener {
+
+    private final ObjectProvider<PatientLookupIndex> patientLookupIndex;
+
+    public PatientLookupListener(ObjectProvider<PatientLookupIndex> patientLookupIndex) {
+        this.patientLookupIndex = patientLookupIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof PatientModel patient && patient.getPerson() != null) {
+            PersonModel person = patient.getPerson();
+            Long id = patient.getId();
+            String dni = person.getDni();
+            String name = person.getName();
+            String lastName = person.getLastName();
+            String tutorName = patient.getTutorName();
+            boolean deleted = patient.isDeleted();
+            publish(id, index -> index.upsert(id, dni, name, lastName, tutorName, deleted));
+        } else if (entity instanceof PersonModel person) {
+            Long id = person.getId();
+            String dni = person.getDni();
+            String name = person.getName();
+            String lastName = person.getLastName();
+            publish(id, index -> index.updatePerson(id, dni, name, lastName));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof PatientModel patient) {
+            Long id = patient.getId();
+            publish(id, index -> index.remove(id));
+        }
+    }
+
+    private void publish(Long id, Consumer<PatientLookupIndex> action) {
+        patientLookupIndex.ifAvailable(index -> index.publish(List.of(id), () -> action.accept(index)));
+    }
+}
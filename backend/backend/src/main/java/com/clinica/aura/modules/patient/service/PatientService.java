@@ -10,10 +10,14 @@ import com.clinica.aura.exceptions.SchoolNotFoundException;
 import com.clinica.aura.exceptions.*;
 
 import com.clinica.aura.modules.medical_records.repository.MedicalRecordsRepository;
+import com.clinica.aura.modules.patient.dto.PatientFilterDto;
 import com.clinica.aura.modules.patient.dto.PatientRequestDto;
 import com.clinica.aura.modules.patient.dto.PatientResponseDto;
 import com.clinica.aura.modules.patient.model.PatientModel;
+import com.clinica.aura.modules.patient.repository.PatientProjectionRepository;
+import com.clinica.aura.modules.patient.repository.PatientReadRepository;
 import com.clinica.aura.modules.patient.repository.PatientRepository;
+import com.clinica.aura.modules.patient.repository.PatientSpecifications;
 import com.clinica.aura.modules.person.model.PersonModel;
 import com.clinica.aura.modules.person.repository.PersonRepository;
 import com.clinica.aura.modules.professional.model.ProfessionalModel;
@@ -25,7 +29,12 @@ import com.clinica.aura.modules.user_account.models.RoleModel;
 import com.clinica.aura.modules.user_account.models.UserModel;
 import com.clinica.aura.modules.user_account.repository.RoleRepository;
 import com.clinica.aura.modules.user_account.repository.UserRepository;
+import com.clinica.aura.modules.user_account.service.impl.AuthorityRegistry;
+import com.clinica.aura.util.CursorPaginatedResponse;
+import com.clinica.aura.util.KeysetCursor;
 import com.clinica.aura.util.PaginatedResponse;
+import com.clinica.aura.util.SearchText;
+import com.clinica.aura.util.SparseFieldset;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.validation.Valid;
@@ -34,11 +43,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Period;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import java.time.LocalDate;
@@ -47,14 +59,25 @@ import java.util.*;
 @Service
 @RequiredArgsConstructor
 public class PatientService {
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_PAGE_SIZE = 50;
+    // Listados que emiten cursores (ver KeysetCursor): /patients/cursor ordena por apellido e id;
+    // el filtrado, solo por id.
+    private static final String CURSOR_LISTING = "patients.lastName";
+    private static final String FILTER_CURSOR_LISTING = "patients.filter.id";
+
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
     private final RoleRepository roleRepository;
     private final PatientRepository patientRepository;
+    private final PatientReadRepository patientReadRepository;
+    private final PatientProjectionRepository patientProjectionRepository;
     private final PersonRepository personRepository;
     private final MedicalRecordsRepository medicalRecordsRepository;
     private final ProfessionalRepository professionalRepository;
+    private final AuthorityRegistry authorityRegistry;
+    private final PatientLookupIndex patientLookupIndex;
 
 
     @PersistenceContext
@@ -110,11 +133,7 @@ public class PatientService {
             throw new DniAlreadyExistsException("El DNI " + dni + " ya está registrado en la base de datos.");
         }
 
-        Optional<RoleModel> professionalRole = roleRepository.findByEnumRole(EnumRole.PATIENT);
-        if (professionalRole.isEmpty()) {
-            throw new IllegalArgumentException("El rol especificado no está configurado en la base de datos.");
-        }
-        Set<RoleModel> roleEntities = Set.of(professionalRole.get());
+        Set<RoleModel> roleEntities = Set.of(authorityRegistry.getRoleReference(EnumRole.PATIENT));
 
         PersonModel personEntity = PersonModel.builder()
                 .dni(dni)
@@ -224,9 +243,9 @@ public class PatientService {
 
     /**
      * Recupera una lista paginada de todos los pacientes registrados en el sistema.
-     * Este método consulta la base de datos utilizando paginación y transforma cada entidad
-     * {@code PatientModel} en un {@code PatientResponseDto}. También incluye información asociada,
-     * como datos personales, usuario (si existe), escuela y profesionales.
+     * La página se arma con una única consulta SQL (ver {@link PatientReadRepository}) que ya trae
+     * la información asociada: datos personales, usuario (si existe), escuela y profesionales,
+     * más una consulta de conteo; no se cargan entidades ni relaciones perezosas.
      * @param page Número de página (empezando desde 0).
      * @param size Cantidad de elementos por página.
      * @return {@link PaginatedResponse} que contiene una lista de {@link PatientResponseDto} junto con
@@ -234,55 +253,112 @@ public class PatientService {
      */
     public PaginatedResponse<PatientResponseDto> getAllPatients(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<PatientModel> patientsPage = patientRepository.findAllActive(pageable);
-
-        List<PatientResponseDto> patientResponseDtos = patientsPage.getContent().stream()
-                .map(patient -> {
-                    PersonModel person = patient.getPerson();
-                    Optional<UserModel> userOptional = userRepository.findByPerson(person);
-
-                    PatientResponseDto.PatientResponseDtoBuilder dtoBuilder = PatientResponseDto.builder()
-                            .id(patient.getId())
-                            .name(person.getName())
-                            .lastName(person.getLastName())
-                            .phoneNumber(person.getPhoneNumber())
-                            .birthDate(person.getBirthDate())
-                            .dni(person.getDni())
-                            .email(userOptional.map(UserModel::getEmail).orElse(null))
-                            .hasInsurance(patient.isHasInsurance())
-                            .insuranceName(patient.getInsuranceName())
-                            .insurancePlan(patient.getInsurancePlan())
-                            .memberShipNumber(patient.getMemberShipNumber())
-                            .address(patient.getAddress())
-                            .tutorName(patient.getTutorName())
-                            .relationToPatient(patient.getRelationToPatient())
-                            .genre(patient.getGenre())
-                            .age(calculateAgeFromBirthDate(person.getBirthDate()));
-
-                    if (patient.getSchoolModel() != null) {
-                        dtoBuilder.schoolId(patient.getSchoolModel().getId());
-                    }
-
-                    if (patient.getProfessionals() != null) {
-                        List<Long> professionalIds = patient.getProfessionals().stream()
-                                .map(ProfessionalModel::getId)
-                                .toList();
-                        dtoBuilder.professionalIds(professionalIds);
-                    }
-
-                    return dtoBuilder.build();
-                })
-                .toList();
+        List<PatientResponseDto> patientResponseDtos = patientReadRepository.findActivePage(
+                pageable.getPageSize(), pageable.getOffset());
+        long totalElements = patientReadRepository.countActive();
 
         return new PaginatedResponse<>(
                 patientResponseDtos,
-                patientsPage.getNumber(),
-                patientsPage.getSize(),
-                patientsPage.getTotalPages(),
-                patientsPage.getTotalElements()
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                (int) Math.ceil((double) totalElements / pageable.getPageSize()),
+                totalElements
+        );
+    }
+
+    /**
+     * Recupera una lista paginada de pacientes con solo los campos pedidos ("sparse fieldsets").
+     * Si no se piden campos, devuelve el {@link PatientResponseDto} completo como
+     * {@link #getAllPatients(int, int)}; si se piden, la consulta selecciona solo las columnas y
+     * uniones necesarias (ver {@link PatientProjectionRepository}).
+     * @param page   Número de página (empezando desde 0).
+     * @param size   Cantidad de elementos por página.
+     * @param fields Campos de {@link PatientResponseDto} separados por comas, o null para todos.
+     * @return {@link PaginatedResponse} con los pacientes de la página.
+     * @throws InvalidFieldsException Si se pide un campo inexistente.
+     */
+    public PaginatedResponse<?> getAllPatients(int page, int size, String fields) {
+        Set<String> selected = SparseFieldset.parse(fields, PatientProjectionRepository.FIELDS);
+        if (selected == null) {
+            return getAllPatients(page, size);
+        }
+
+        Pageable pageable = PageRequest.of(page, size);
+        List<Map<String, Object>> rows = patientProjectionRepository.findActivePage(
+                selected, pageable.getPageSize(), pageable.getOffset());
+        long totalElements = patientReadRepository.countActive();
+
+        return new PaginatedResponse<>(
+                rows,
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                (int) Math.ceil((double) totalElements / pageable.getPageSize()),
+                totalElements
         );
     }
 
+    /**
+     * Recupera pacientes activos paginados por cursor, ordenados por apellido e id.
+     * Se pide una fila de más para saber si existe una página siguiente sin contar la tabla; el total
+     * solo se calcula si {@code includeTotal} es verdadero.
+     *
+     * @param cursor       cursor devuelto por la página anterior, o null para la primera
+     * @param size         cantidad de registros por página (entre 1 y {@value #MAX_CURSOR_PAGE_SIZE})
+     * @param includeTotal si se debe informar la cantidad total de pacientes activos
+     * @return la página de pacientes con el cursor de la siguiente
+     * @throws InvalidCursorException si el cursor está mal formado o pertenece a otro listado
+     */
+    public CursorPaginatedResponse<PatientResponseDto> getPatientsByCursor(String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor, CURSOR_LISTING);
+
+        List<PatientResponseDto> rows = after == null
+                ? patientReadRepository.findActiveAfter(null, 0, pageSize + 1)
+                : patientReadRepository.findActiveAfter(after.key(), after.id(), pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<PatientResponseDto> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            PatientResponseDto last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(CURSOR_LISTING, Objects.requireNonNullElse(last.getLastName(), ""),
+                    last.getId()).encode();
+        }
+        Long totalElements = includeTotal ? patientReadRepository.countActive() : null;
+
+        return new CursorPaginatedResponse<>(content, nextCursor, pageSize, hasNext, totalElements);
+    }
+
+
+    /**
+     * Filtra pacientes activos por obra social, plan, escuela, profesional asignado, género y rango
+     * de edad, paginando por cursor en orden de id.
+     * La consulta de filtrado ({@link PatientSpecifications}) solo resuelve los ids de la página;
+     * los datos se traen luego en una sola consulta con {@link PatientReadRepository#findActiveByIds}.
+     * @param filter criterios de búsqueda; los vacíos no filtran.
+     * @param cursor cursor devuelto por la página anterior, o null para la primera.
+     * @param size   cantidad de registros por página (entre 1 y {@value #MAX_CURSOR_PAGE_SIZE}).
+     * @return la página de pacientes con el cursor de la siguiente.
+     * @throws InvalidCursorException si el cursor está mal formado o pertenece a otro listado.
+     */
+    public CursorPaginatedResponse<PatientResponseDto> filterPatients(PatientFilterDto filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor, FILTER_CURSOR_LISTING);
+
+        Specification<PatientModel> spec = PatientSpecifications.matching(filter);
+        if (after != null) {
+            spec = spec.and(PatientSpecifications.idAfter(after.id()));
+        }
+
+        List<PatientModel> patients = patientRepository.findBy(spec,
+                query -> query.sortBy(Sort.by("id")).limit(pageSize + 1).all());
+        boolean hasNext = patients.size() > pageSize;
+        List<Long> ids = patients.stream().limit(pageSize).map(PatientModel::getId).toList();
+
+        String nextCursor = hasNext ? new KeysetCursor(FILTER_CURSOR_LISTING, "", ids.get(ids.size() - 1)).encode() : null;
+        return new CursorPaginatedResponse<>(patientReadRepository.findActiveByIds(ids), nextCursor, pageSize, hasNext, null);
+    }
+
 
     /**
      * Recupera la información detallada de un paciente específico a partir de su ID.
@@ -378,6 +454,9 @@ public class PatientService {
         patient.setRelationToPatient(requestDto.getRelationToPatient());
         patient.setGenre(requestDto.getGenre());
         patient.setDeleted(false);
+        // Los cambios de persona, email o profesionales no modifican columnas de patients; se marca la
+        // actualización igual para que la sincronización incremental (/sync/changes) los incluya.
+        patient.setUpdatedAt(LocalDateTime.now());
 
         if (requestDto.getSchoolId() != null) {
             SchoolModel school = schoolRepository.findById(requestDto.getSchoolId())
@@ -459,6 +538,15 @@ public class PatientService {
      * @throws PatientNotFoundException Si no se encuentra ningún paciente con el DNI especificado.
      */
     public PatientResponseDto getPatientByDni(String dni) {
+        if (patientLookupIndex.isReady()) {
+            Optional<PatientResponseDto> indexed = patientLookupIndex.findIdByDni(dni)
+                    .flatMap(id -> patientReadRepository.findActiveByIds(List.of(id)).stream().findFirst());
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+            // El alta pudo hacerse en otra instancia y no haber llegado todavía al índice local.
+        }
+
         var patient = patientRepository.findByPersonDniAndDeletedFalse(dni)
                 .orElseThrow(() -> new PatientNotFoundException("Paciente no encontrado con DNI: " + dni));
 
@@ -504,59 +592,61 @@ public class PatientService {
 
 
     /**
-     * Busca y devuelve una lista de pacientes que coincidan con el nombre y apellido proporcionados.
-     * Este método:
-     * <ul>
-     *     <li>Consulta la base de datos por pacientes cuyo nombre y apellido coincidan (búsqueda personalizada).</li>
-     *     <li>Mapea cada entidad encontrada a un {@link PatientResponseDto}, incluyendo datos personales,
-     *         profesionales asignados, escuela, y edad calculada.</li>
-     * </ul>
-     * @param name      Nombre del paciente.
+     * Busca pacientes por nombre y/o apellido, ordenados por similitud y paginados.
+     * La búsqueda ignora mayúsculas y tildes ("Gonzalez" encuentra "González") y tolera errores de
+     * tipeo menores cuando la base tiene {@code pg_trgm}; ver {@link PatientReadRepository#searchByName}.
+     * @param name     Nombre del paciente.
      * @param lastName Apellido del paciente.
-     * @return Lista de {@link PatientResponseDto} con los pacientes encontrados.
+     * @param page     Número de página (comienza en 0).
+     * @param size     Cantidad de resultados por página (máximo {@value #MAX_SEARCH_PAGE_SIZE}).
+     * @return Lista de {@link PatientResponseDto} con los pacientes encontrados, los más parecidos primero.
      * @throws PatientNotFoundException Si no se encuentra ningún paciente con el nombre y apellido especificados.
      */
-    public List<PatientResponseDto> getPatientsByName(String name, String lastName) {
-        List<PatientModel> patients = patientRepository.searchByFullName(name, lastName);
+    public List<PatientResponseDto> getPatientsByName(String name, String lastName, int page, int size) {
+        List<String> terms = SearchText.terms(name, lastName);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE)));
+
+        List<PatientResponseDto> patients = terms.isEmpty()
+                ? List.of()
+                : patientReadRepository.searchByName(terms, pageable.getPageSize(), pageable.getOffset());
 
         if (patients.isEmpty()) {
             throw new PatientNotFoundException("No se encontraron pacientes con el nombre: " + name);
         }
 
-        return patients.stream().map(patient -> {
-            PersonModel person = patient.getPerson();
-            var user = userRepository.findByPerson(person).orElse(null);
+        return patients;
+    }
 
-            List<Long> professionalIds = null;
-            if (patient.getProfessionals() != null) {
-                professionalIds = patient.getProfessionals().stream()
-                        .map(prof -> prof.getId())
-                        .toList();
+    /**
+     * Búsqueda rápida de recepción por DNI, fragmento de nombre o apellido, o nombre del tutor.
+     * Resuelve los ids con el {@link PatientLookupIndex} en memoria y trae los datos en una sola
+     * consulta. Mientras el índice se construye, o si no encuentra resultados, busca en la base de
+     * datos por DNI o por nombre.
+     * @param query texto libre; una consulta solo numérica se interpreta como DNI.
+     * @param limit cantidad máxima de resultados (máximo {@value #MAX_SEARCH_PAGE_SIZE}).
+     * @return Lista de {@link PatientResponseDto}, posiblemente vacía.
+     */
+    public List<PatientResponseDto> lookupPatients(String query, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+        if (patientLookupIndex.isReady()) {
+            List<PatientResponseDto> indexed = patientReadRepository.findActiveByIds(patientLookupIndex.lookup(query, max));
+            if (!indexed.isEmpty()) {
+                return indexed;
             }
+            // Sin resultados en el índice se confirma contra la base de datos, por si el cambio se
+            // hizo en otra instancia y todavía no llegó.
+        }
 
-            Long schoolId = patient.getSchoolModel() != null ? patient.getSchoolModel().getId() : null;
-
-            return PatientResponseDto.builder()
-                    .id(patient.getId())
-                    .name(person.getName())
-                    .lastName(person.getLastName())
-                    .phoneNumber(person.getPhoneNumber())
-                    .birthDate(person.getBirthDate())
-                    .dni(person.getDni())
-                    .email(user != null ? user.getEmail() : null)
-                    .insuranceName(patient.getInsuranceName())
-                    .hasInsurance(patient.isHasInsurance())
-                    .insurancePlan(patient.getInsurancePlan())
-                    .memberShipNumber(patient.getMemberShipNumber())
-                    .address(patient.getAddress())
-                    .tutorName(patient.getTutorName())
-                    .relationToPatient(patient.getRelationToPatient())
-                    .professionalIds(professionalIds)
-                    .genre(patient.getGenre())
-                    .schoolId(schoolId)
-                    .age(calculateAgeFromBirthDate(person.getBirthDate()))
-                    .build();
-        }).toList();
+        List<String> terms = SearchText.terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        if (terms.size() == 1 && terms.get(0).chars().allMatch(Character::isDigit)) {
+            return patientRepository.findByPersonDniAndDeletedFalse(terms.get(0))
+                    .map(patient -> patientReadRepository.findActiveByIds(List.of(patient.getId())))
+                    .orElse(List.of());
+        }
+        return patientReadRepository.searchByName(terms, max, 0);
     }
 
     /**
@@ -4,6 +4,9 @@ package com.clinica.aura.modules.person.model;
 
 
 
+import com.clinica.aura.modules.patient.service.PatientLookupListener;
+import com.clinica.aura.modules.user_account.service.impl.PersonProfileListener;
+import com.clinica.aura.util.SearchText;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -15,7 +18,13 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "person")
+@Table(name = "person", indexes = {
+        // Filtro por rango de edad (rango de fechas de nacimiento).
+        @Index(name = "idx_person_birth_date", columnList = "birth_date")
+})
+// El índice GIN de trigramas sobre search_name y el de orden por (COALESCE(last_name, ''), id) del
+// listado paginado por cursor los crea PostgresSchemaInitializer (no se expresan con @Index).
+@EntityListeners({PersonProfileListener.class, PatientLookupListener.class})
 public class PersonModel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,5 +41,16 @@ public class PersonModel {
     private String locality;
     private String cuil;
 
-
+    /**
+     * Nombre y apellido normalizados con {@link SearchText#fold} para la búsqueda por nombre.
+     * Se recalcula automáticamente antes de insertar o actualizar.
+     */
+    @Setter(AccessLevel.NONE)
+    private String searchName;
+
+    @PrePersist
+    @PreUpdate
+    void updateSearchName() {
+        this.searchName = SearchText.fold(name, lastName);
+    }
 }
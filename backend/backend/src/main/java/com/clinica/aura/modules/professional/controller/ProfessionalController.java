@@ -1,5 +1,6 @@
 package com.clinica.aura.modules.professional.controller;
 
+import com.clinica.aura.modules.patient.dto.CaseloadFilterDto;
 import com.clinica.aura.modules.patient.dto.PatientResponseDto;
 import com.clinica.aura.modules.professional.dtoRequest.ProfessionalRequestUpdateDto;
 import com.clinica.aura.modules.professional.dtoResponse.ProfessionalResponseDto;
@@ -8,11 +9,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 import com.clinica.aura.modules.professional.dtoRequest.ProfessionalRequestDto;
+import com.clinica.aura.util.CursorPaginatedResponse;
 import jakarta.validation.Valid;
 
 import java.util.List;
@@ -48,20 +51,23 @@ public class ProfessionalController {
      *
      * @param page número de página (por defecto 0)
      * @param size cantidad de elementos por página (por defecto 10)
+     * @param fields campos a devolver separados por comas (opcional, por defecto todos)
      * @return un ResponseEntity con la lista paginada de profesionales
      */
     @Operation(
             summary = "Obtener profesionales con paginación",
-            description = "Usá los parámetros 'page' y 'size' en la URL para controlar la paginación. Ejemplo: /professionals/page?page=0&size=5"
+            description = "Usá los parámetros 'page' y 'size' en la URL para controlar la paginación. Ejemplo: /professionals/page?page=0&size=5. " +
+                    "Con fields (por ejemplo fields=id,name,lastName,specialty) cada profesional incluye solo esos campos."
     )
     @ApiResponse(responseCode = "200", description = "Listado paginado de profesionales obtenido exitosamente")
     @GetMapping()
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSIONAL')")
-    public ResponseEntity<Page<ProfessionalResponseDto>> getProfessionalsPaginated(
+    public ResponseEntity<Page<?>> getProfessionalsPaginated(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields
     ) {
-        return ResponseEntity.ok(professionalService.getProfessionalsPaginated(page, size));
+        return ResponseEntity.ok(professionalService.getProfessionalsPaginated(page, size, fields));
     }
 
     /**
@@ -119,20 +125,28 @@ public class ProfessionalController {
     }
 
     /**
-     * Obtiene la lista de pacientes asignados a un profesional específico.
+     * Obtiene los pacientes asignados a un profesional específico, paginados por cursor.
      *
-     * @param id ID del profesional
-     * @return un ResponseEntity con la lista de pacientes asociados al profesional
+     * @param id     ID del profesional
+     * @param filter orden (LAST_NAME o ID) y criterios opcionales (nombre, género, obra social)
+     * @param cursor cursor devuelto por la página anterior; se omite para la primera página
+     * @param size   cantidad de pacientes por página (máximo 100)
+     * @return un ResponseEntity con la página de pacientes y el cursor de la siguiente
      */
     @Operation(summary = "Listar pacientes de un profesional",
-            description = "Devuelve una lista de los pacientes asociados al profesional especificado por su ID")
+            description = "Devuelve los pacientes activos asociados al profesional, paginados por cursor: para la página " +
+                    "siguiente se envía el valor de nextCursor recibido con el mismo orden y filtros. Sin filtros, " +
+                    "totalElements informa la cantidad total de pacientes del profesional.")
     @ApiResponse(responseCode = "200", description = "Lista de pacientes obtenida exitosamente")
     @ApiResponse(responseCode = "404", description = "Profesional no encontrado")
     @GetMapping("/{id}/patients")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSIONAL')")
-    public ResponseEntity<List<PatientResponseDto>> getPatientsByProfessionalId(@PathVariable Long id) {
-        List<PatientResponseDto> patients = professionalService.getPatientsByProfessionalId(id);
-        return ResponseEntity.ok(patients);
+    public ResponseEntity<CursorPaginatedResponse<PatientResponseDto>> getPatientsByProfessionalId(
+            @PathVariable Long id,
+            @ParameterObject @ModelAttribute CaseloadFilterDto filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(professionalService.getPatientsByProfessionalId(id, filter, cursor, size));
     }
 
 
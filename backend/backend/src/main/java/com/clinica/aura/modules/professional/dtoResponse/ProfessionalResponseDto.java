@@ -58,4 +58,7 @@ public class ProfessionalResponseDto {
             example = "[1, 2, 3]"
     )
     private List<Long> patientIds;
+
+    @Schema(description = "Cantidad de pacientes activos asignados al profesional", example = "3")
+    private int caseloadCount;
 }
\ No newline at end of file
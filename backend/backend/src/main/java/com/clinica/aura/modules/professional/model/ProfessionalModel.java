@@ -48,4 +48,12 @@ public class ProfessionalModel {
 
     @Column(name = "deleted")
     private Boolean deleted = false;
+
+    /**
+     * Cantidad de pacientes activos asignados. La mantienen triggers de la base de datos
+     * (ver {@code PostgresSchemaInitializer}); la aplicación solo la lee.
+     */
+    @Column(name = "caseload_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer not null default 0")
+    private int caseloadCount;
 }
@@ -0,0 +1,126 @@
+package com.clinica.aura.modules.professional.repository;
+
+import com.clinica.aura.modules.person.model.PersonModel;
+import com.clinica.aura.modules.professional.model.ProfessionalModel;
+import com.clinica.aura.modules.user_account.models.UserModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Listado de profesionales con proyección dinámica, análogo a
+ * {@code PatientProjectionRepository}: una consulta Criteria de tuplas con solo las columnas y
+ * uniones de los campos pedidos, y los pacientes asignados en una consulta adicional si se piden.
+ * Los profesionales eliminados quedan excluidos por el {@code @Where} de la entidad; los pacientes
+ * eliminados, por la condición de {@code findPatientIds}, igual que en {@code caseload_count}.
+ */
+@Repository
+public class ProfessionalProjectionRepository {
+
+    /**
+     * Campos de {@code ProfessionalResponseDto} que se pueden pedir, en su orden de declaración.
+     */
+    public static final List<String> FIELDS = List.of(
+            "id", "email", "dni", "name", "lastName", "phoneNumber", "address", "birthDate", "locality",
+            "cuil", "licenseNumber", "specialty", "patientIds", "caseloadCount");
+
+    private static final List<String> PERSON_FIELDS = List.of(
+            "dni", "name", "lastName", "phoneNumber", "address", "birthDate", "locality", "cuil");
+    private static final List<String> PROFESSIONAL_COLUMNS = List.of("licenseNumber", "specialty", "caseloadCount");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Obtiene una página de profesionales ordenados por id con los campos pedidos.
+     *
+     * @param fields campos a devolver (validados con {@code SparseFieldset})
+     * @param limit  cantidad máxima de filas
+     * @param offset cantidad de filas a saltear
+     * @return una fila por profesional con solo los campos pedidos
+     */
+    public List<Map<String, Object>> findPage(Set<String> fields, int limit, long offset) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ProfessionalModel> professional = query.from(ProfessionalModel.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(professional.get("id").alias("id"));
+
+        if (PERSON_FIELDS.stream().anyMatch(fields::contains)) {
+            Join<ProfessionalModel, PersonModel> person = professional.join("person");
+            for (String field : PERSON_FIELDS) {
+                if (fields.contains(field)) {
+                    selections.add(person.get(field).alias(field));
+                }
+            }
+        }
+        for (String field : PROFESSIONAL_COLUMNS) {
+            if (fields.contains(field)) {
+                selections.add(professional.get(field).alias(field));
+            }
+        }
+        if (fields.contains("email")) {
+            Subquery<String> email = query.subquery(String.class);
+            Root<UserModel> user = email.from(UserModel.class);
+            email.select(user.<String>get("email")).where(cb.equal(user.get("person").get("id"), professional.get("id")));
+            selections.add(email.alias("email"));
+        }
+
+        query.multiselect(selections).orderBy(cb.asc(professional.get("id")));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+
+        Map<Long, List<Long>> patientIds = fields.contains("patientIds")
+                ? findPatientIds(tuples.stream().map(tuple -> tuple.get("id", Long.class)).toList())
+                : Map.of();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Long id = tuple.get("id", Long.class);
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                switch (field) {
+                    case "id" -> row.put(field, id);
+                    case "patientIds" -> row.put(field, patientIds.getOrDefault(id, List.of()));
+                    default -> row.put(field, tuple.get(field));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Map<Long, List<Long>> findPatientIds(List<Long> professionalIds) {
+        Map<Long, List<Long>> byProfessional = new LinkedHashMap<>();
+        if (professionalIds.isEmpty()) {
+            return byProfessional;
+        }
+        List<Object[]> pairs = entityManager.createQuery(
+                        "SELECT pr.id, p.id FROM ProfessionalModel pr JOIN pr.patients p "
+                                + "WHERE pr.id IN :ids AND p.deleted = false ORDER BY p.id",
+                        Object[].class)
+                .setParameter("ids", professionalIds)
+                .getResultList();
+        for (Object[] pair : pairs) {
+            byProfessional.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((Long) pair[1]);
+        }
+        return byProfessional;
+    }
+}
@@ -0,0 +1,121 @@
+package com.clinica.aura.modules.professional.repository;
+
+import com.clinica.aura.modules.professional.dtoResponse.ProfessionalResponseDto;
+import com.clinica.aura.util.SqlArrays;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Consultas de solo lectura sobre profesionales que arman {@link ProfessionalResponseDto}
+ * directamente desde SQL, sin cargar entidades, análogas a {@code PatientReadRepository}.
+ * <p>
+ * Cada fila trae en una sola sentencia los datos del profesional y de la persona, el email del
+ * usuario y los ids de los pacientes activos asignados (agregados con {@code array_agg} sobre
+ * {@code professional_patient}, igual que los cuenta {@code caseload_count}), por lo que una página cuesta siempre la misma cantidad de
+ * consultas sin importar su tamaño ni la cantidad de pacientes de cada profesional.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProfessionalReadRepository {
+
+    static final String SELECT_PROFESSIONAL = """
+            SELECT pr.id, u.email, pe.dni, pe.name, pe.last_name, pe.phone_number, pe.address, pe.birth_date,
+                   pe.locality, pe.cuil, pr.license_number, pr.specialty, pr.caseload_count,
+                   (SELECT array_agg(pp.patient_id ORDER BY pp.patient_id)
+                      FROM professional_patient pp
+                      JOIN patients p ON p.id = pp.patient_id AND p.deleted = false
+                     WHERE pp.professional_id = pr.id) AS patient_ids
+              FROM professional pr
+              JOIN person pe ON pe.id = pr.id
+              LEFT JOIN users u ON u.person_id = pr.id
+             WHERE pr.deleted = false
+            """;
+
+    static final RowMapper<ProfessionalResponseDto> PROFESSIONAL_ROW_MAPPER = ProfessionalReadRepository::mapRow;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Obtiene un profesional activo por id.
+     *
+     * @param id id del profesional
+     * @return el profesional, o vacío si no existe o fue eliminado
+     */
+    public Optional<ProfessionalResponseDto> findById(Long id) {
+        String sql = SELECT_PROFESSIONAL + " AND pr.id = :id";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("id", id), PROFESSIONAL_ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Obtiene una página de profesionales activos ordenados por id.
+     *
+     * @param limit  cantidad máxima de filas
+     * @param offset cantidad de filas a saltear
+     * @return los profesionales de la página
+     */
+    public List<ProfessionalResponseDto> findPage(int limit, long offset) {
+        String sql = SELECT_PROFESSIONAL + """
+                 ORDER BY pr.id
+                 LIMIT :limit OFFSET :offset
+                """;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return jdbcTemplate.query(sql, params, PROFESSIONAL_ROW_MAPPER);
+    }
+
+    /**
+     * Busca profesionales activos cuyo apellido o especialidad contenga la palabra clave, sin
+     * distinguir mayúsculas.
+     *
+     * @param keyword término de búsqueda
+     * @return los profesionales coincidentes ordenados por id
+     */
+    public List<ProfessionalResponseDto> searchByLastNameOrSpecialty(String keyword) {
+        String sql = SELECT_PROFESSIONAL + """
+                 AND (lower(pe.last_name) LIKE lower(:pattern) OR lower(pr.specialty) LIKE lower(:pattern))
+                 ORDER BY pr.id
+                """;
+        String pattern = "%" + (keyword == null ? "" : keyword) + "%";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("pattern", pattern), PROFESSIONAL_ROW_MAPPER);
+    }
+
+    /**
+     * Cuenta los profesionales activos.
+     */
+    public long countActive() {
+        Long count = jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT count(*) FROM professional WHERE deleted = false", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static ProfessionalResponseDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return ProfessionalResponseDto.builder()
+                .id(rs.getLong("id"))
+                .email(rs.getString("email"))
+                .dni(rs.getString("dni"))
+                .name(rs.getString("name"))
+                .lastName(rs.getString("last_name"))
+                .phoneNumber(rs.getString("phone_number"))
+                .address(rs.getString("address"))
+                .birthDate(rs.getObject("birth_date", LocalDate.class))
+                .locality(rs.getString("locality"))
+                .cuil(rs.getString("cuil"))
+                .licenseNumber(rs.getString("license_number"))
+                .specialty(rs.getString("specialty"))
+                .patientIds(SqlArrays.toLongList(rs.getArray("patient_ids")))
+                .caseloadCount(rs.getInt("caseload_count"))
+                .build();
+    }
+}
@@ -1,9 +1,12 @@
 package com.clinica.aura.modules.professional.service;
+import com.clinica.aura.modules.patient.dto.CaseloadFilterDto;
 import com.clinica.aura.modules.patient.dto.PatientResponseDto;
 import com.clinica.aura.modules.patient.model.PatientModel;
+import com.clinica.aura.modules.patient.repository.PatientReadRepository;
 import com.clinica.aura.modules.patient.repository.PatientRepository;
 import com.clinica.aura.modules.person.repository.PersonRepository;
 import com.clinica.aura.modules.professional.dtoRequest.ProfessionalRequestUpdateDto;
+import com.clinica.aura.modules.user_account.service.impl.AuthorityRegistry;
 import com.clinica.aura.modules.user_account.service.impl.UserDetailsServiceImpl;
 import com.clinica.aura.exceptions.*;
 import com.clinica.aura.config.jwt.JwtUtils;
@@ -11,7 +14,12 @@ import com.clinica.aura.modules.person.model.PersonModel;
 import com.clinica.aura.modules.professional.dtoRequest.ProfessionalRequestDto;
 import com.clinica.aura.modules.professional.dtoResponse.ProfessionalResponseDto;
 import com.clinica.aura.modules.professional.model.ProfessionalModel;
+import com.clinica.aura.modules.professional.repository.ProfessionalProjectionRepository;
+import com.clinica.aura.modules.professional.repository.ProfessionalReadRepository;
 import com.clinica.aura.modules.professional.repository.ProfessionalRepository;
+import com.clinica.aura.util.CursorPaginatedResponse;
+import com.clinica.aura.util.KeysetCursor;
+import com.clinica.aura.util.SparseFieldset;
 import com.clinica.aura.modules.user_account.Enum.EnumRole;
 import com.clinica.aura.modules.user_account.dtoResponse.AuthResponseRegisterDto;
 import com.clinica.aura.modules.user_account.models.RoleModel;
@@ -22,7 +30,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -30,6 +39,7 @@ import org.springframework.stereotype.Service;
 import java.util.*;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,6 +51,11 @@ import com.clinica.aura.exceptions.DniAlreadyExistsException;
 @Service
 @RequiredArgsConstructor
 public class ProfessionalService {
+
+    static final int MAX_CASELOAD_PAGE_SIZE = 100;
+    private static final String CASELOAD_BY_LAST_NAME_LISTING = "caseload.lastName";
+    private static final String CASELOAD_BY_ID_LISTING = "caseload.id";
+
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
@@ -49,6 +64,10 @@ public class ProfessionalService {
     private final UserDetailsServiceImpl userDetailsService;
     private final PatientRepository patientRepository;
     private final PersonRepository personRepository;
+    private final AuthorityRegistry authorityRegistry;
+    private final ProfessionalProjectionRepository professionalProjectionRepository;
+    private final ProfessionalReadRepository professionalReadRepository;
+    private final PatientReadRepository patientReadRepository;
 
     /**
      * Crea un nuevo usuario profesional, asociando una persona, profesional y usuario en la base de datos.
@@ -74,9 +93,7 @@ public class ProfessionalService {
             throw new DniAlreadyExistsException("El DNI " + dni + " ya está registrado en la base de datos.");
         }
 
-        RoleModel professionalRole = roleRepository.findByEnumRole(EnumRole.PROFESSIONAL)
-                .orElseThrow(() -> new IllegalArgumentException("El rol especificado no está configurado en la base de datos."));
-        Set<RoleModel> roleEntities = Set.of(professionalRole);
+        Set<RoleModel> roleEntities = Set.of(authorityRegistry.getRoleReference(EnumRole.PROFESSIONAL));
 
 
         PersonModel personEntity = PersonModel.builder()
@@ -108,17 +125,11 @@ public class ProfessionalService {
 
         UserModel userCreated = userRepository.save(userEntity);
 
-        List<SimpleGrantedAuthority> authoritiesList = new ArrayList<>();
-        userCreated.getRoles().forEach(role -> {
-            authoritiesList.add(new SimpleGrantedAuthority("ROLE_" + role.getEnumRole().name()));
-            role.getPermissions().forEach(permission ->
-                    authoritiesList.add(new SimpleGrantedAuthority(permission.getName())));
-        });
-
-        UserDetails userDetails = userDetailsService.loadUserByUsername(userCreated.getEmail());
+        List<GrantedAuthority> authoritiesList = authorityRegistry.getAuthorities(EnumRole.PROFESSIONAL);
+        UserDetails userDetails = new User(userCreated.getEmail(), userCreated.getPassword(), authoritiesList);
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 userDetails, userCreated.getPassword(), authoritiesList);
-        String accessToken = jwtUtils.generateJwtToken(authentication);
+        String accessToken = jwtUtils.generateJwtToken(authentication, userCreated.getId(), personEntity.getId());
 
         return new AuthResponseRegisterDto(
                 userCreated.getId(),
@@ -139,12 +150,8 @@ public class ProfessionalService {
      * @throws ProfessionalNotFoundException si no se encuentra el profesional.
      */
     public ProfessionalResponseDto getProfessionalById(Long id) {
-        Optional<ProfessionalModel> professional = professionalRepository.findById(id);
-        if (professional.isEmpty()) {
-            throw new ProfessionalNotFoundException("Profesional con ID " + id + " no encontrado.");
-        }
-
-        return mapToDto(professional.get());
+        return professionalReadRepository.findById(id)
+                .orElseThrow(() -> new ProfessionalNotFoundException("Profesional con ID " + id + " no encontrado."));
     }
 
     /**
@@ -156,8 +163,32 @@ public class ProfessionalService {
      */
     public Page<ProfessionalResponseDto> getProfessionalsPaginated(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return professionalRepository.findAll(pageable)
-                .map(this::mapToDto);
+        List<ProfessionalResponseDto> content = professionalReadRepository.findPage(
+                pageable.getPageSize(), pageable.getOffset());
+        return new PageImpl<>(content, pageable, professionalReadRepository.countActive());
+    }
+
+    /**
+     * Devuelve una lista paginada de profesionales con solo los campos pedidos ("sparse fieldsets").
+     * Si no se piden campos, equivale a {@link #getProfessionalsPaginated(int, int)}; si se piden,
+     * la consulta selecciona solo las columnas y uniones necesarias
+     * (ver {@link ProfessionalProjectionRepository}).
+     *
+     * @param page   Número de página a obtener (comienza en 0).
+     * @param size   Cantidad de elementos por página.
+     * @param fields Campos de {@link ProfessionalResponseDto} separados por comas, o null para todos.
+     * @return Página con los profesionales.
+     * @throws InvalidFieldsException Si se pide un campo inexistente.
+     */
+    public Page<?> getProfessionalsPaginated(int page, int size, String fields) {
+        Set<String> selected = SparseFieldset.parse(fields, ProfessionalProjectionRepository.FIELDS);
+        if (selected == null) {
+            return getProfessionalsPaginated(page, size);
+        }
+        Pageable pageable = PageRequest.of(page, size);
+        List<Map<String, Object>> rows = professionalProjectionRepository.findPage(
+                selected, pageable.getPageSize(), pageable.getOffset());
+        return new PageImpl<>(rows, pageable, professionalReadRepository.countActive());
     }
 
     /**
@@ -167,10 +198,7 @@ public class ProfessionalService {
      * @return Lista de profesionales coincidentes en formato DTO.
      */
     public List<ProfessionalResponseDto> searchProfessionals(String keyword) {
-        return professionalRepository.searchByLastNameOrSpecialty(keyword)
-                .stream()
-                .map(this::mapToDto)
-                .toList();
+        return professionalReadRepository.searchByLastNameOrSpecialty(keyword);
     }
 
     /**
@@ -202,6 +230,9 @@ public class ProfessionalService {
                 .licenseNumber(professional.getLicenseNumber())
                 .specialty(professional.getSpecialty())
                 .patientIds(patientIds)
+                .caseloadCount(professional.getPatients() != null
+                        ? (int) professional.getPatients().stream().filter(patient -> !patient.isDeleted()).count()
+                        : 0)
                 .build();
     }
 
@@ -248,53 +279,64 @@ public class ProfessionalService {
 
 
     /**
-     * Elimina lógicamente a un profesional (soft delete) y elimina su persona asociada.
+     * Elimina lógicamente a un profesional (soft delete), elimina su persona asociada y suspende su
+     * usuario.
      *
      * @param id ID del profesional a eliminar.
      * @throws ProfessionalNotFoundException si no se encuentra el profesional.
      */
+    @Transactional
     public void deleteProfessional(Long id) {
         ProfessionalModel professional = professionalRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new ProfessionalNotFoundException("Profesional no encontrado con ID: " + id));
+        // El token del profesional lleva su id en el claim pid: se suspende el usuario para que
+        // ninguna sesión abierta siga actuando como un profesional dado de baja.
+        userRepository.findByPersonId(professional.getPerson().getId())
+                .ifPresent(userDetailsService::suspendIndefinitely);
         personRepository.deleteById(professional.getPerson().getId());
         professional.setDeleted(true);
         professionalRepository.save(professional);
     }
     /**
-     * Obtiene todos los pacientes asociados a un profesional específico.
+     * Obtiene los pacientes activos asignados a un profesional, paginados por cursor.
+     * <p>
+     * La consulta parte de {@code professional_patient} y arma los DTO directamente desde SQL
+     * (ver {@link PatientReadRepository#findActiveByProfessional}), sin cargar entidades. Sin
+     * filtros, el total se informa con el contador {@code caseload_count} del profesional en lugar
+     * de contar filas.
      *
      * @param professionalId ID del profesional.
-     * @return Lista de pacientes asociados al profesional.
+     * @param filter         Orden (por apellido o por id) y criterios opcionales.
+     * @param cursor         Cursor devuelto por la página anterior, o null para la primera.
+     * @param size           Cantidad de pacientes por página (entre 1 y {@value #MAX_CASELOAD_PAGE_SIZE}).
+     * @return Página de pacientes con el cursor de la siguiente.
+     * @throws ProfessionalNotFoundException si no se encuentra el profesional.
+     * @throws InvalidCursorException si el cursor está mal formado o corresponde a otro orden.
      */
-    @Transactional(readOnly = true)
-    public List<PatientResponseDto> getPatientsByProfessionalId(Long professionalId) {
-        List<PatientModel> patients = professionalRepository.findPatientsByProfessionalId(professionalId);
-            return patients.stream().map(patient -> {
-                PersonModel person = patient.getPerson();
-
-                return PatientResponseDto.builder()
-                        .id(patient.getId())
-                        .name(person != null ? person.getName() : null)
-                        .lastName(person != null ? person.getLastName() : null)
-                        .dni(person != null ? person.getDni() : null)
-                        .phoneNumber(person != null ? person.getPhoneNumber() : null)
-                        .birthDate(person != null ? person.getBirthDate() : null)
-                        .email(null)
-                        .hasInsurance(patient.isHasInsurance())
-                        .insuranceName(patient.getInsuranceName())
-                        .address(patient.getAddress())
-                        .tutorName(patient.getTutorName())
-                        .relationToPatient(patient.getRelationToPatient())
-                        .genre(patient.getGenre())
-                        .memberShipNumber(patient.getMemberShipNumber())
-                        .insurancePlan(patient.getInsurancePlan())
-                        .schoolId(patient.getSchoolModel() != null ? patient.getSchoolModel().getId() : null)
-                        .professionalIds(patient.getProfessionals() != null
-                                ? patient.getProfessionals().stream()
-                                .map(ProfessionalModel::getId)
-                                .toList()
-                                : Collections.emptyList())
-                        .build();
-            }).toList();
+    public CursorPaginatedResponse<PatientResponseDto> getPatientsByProfessionalId(Long professionalId,
+                                                                                   CaseloadFilterDto filter,
+                                                                                   String cursor, int size) {
+        ProfessionalModel professional = professionalRepository.findById(professionalId)
+                .orElseThrow(() -> new ProfessionalNotFoundException("Profesional con ID " + professionalId + " no encontrado."));
+
+        int pageSize = Math.max(1, Math.min(size, MAX_CASELOAD_PAGE_SIZE));
+        boolean byId = filter.getSort() == CaseloadFilterDto.Sort.ID;
+        String listing = byId ? CASELOAD_BY_ID_LISTING : CASELOAD_BY_LAST_NAME_LISTING;
+        KeysetCursor after = KeysetCursor.decode(cursor, listing);
+
+        List<PatientResponseDto> rows = patientReadRepository.findActiveByProfessional(professionalId, filter,
+                after == null ? null : after.key(), after == null ? null : after.id(), pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<PatientResponseDto> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            PatientResponseDto last = content.get(content.size() - 1);
+            String key = byId ? "" : Objects.requireNonNullElse(last.getLastName(), "");
+            nextCursor = new KeysetCursor(listing, key, last.getId()).encode();
         }
+        Long totalElements = filter.hasCriteria() ? null : (long) professional.getCaseloadCount();
+
+        return new CursorPaginatedResponse<>(content, nextCursor, pageSize, hasNext, totalElements);
+    }
 }
@@ -16,6 +16,7 @@ import com.clinica.aura.modules.user_account.models.RoleModel;
 import com.clinica.aura.modules.user_account.models.UserModel;
 import com.clinica.aura.modules.user_account.repository.RoleRepository;
 import com.clinica.aura.modules.user_account.repository.UserRepository;
+import com.clinica.aura.modules.user_account.service.impl.AuthorityRegistry;
 import com.clinica.aura.modules.user_account.service.impl.UserDetailsServiceImpl;
 import com.clinica.aura.exceptions.EmailAlreadyExistsException;
 import com.clinica.aura.exceptions.ReceptionistNotFoundException;
@@ -27,16 +28,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 
 @Service
@@ -51,6 +51,7 @@ public class ReceptionistService {
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
     private final PersonRepository personRepository;
+    private final AuthorityRegistry authorityRegistry;
 
     @Transactional
     public AuthResponseRegisterDto createUser(@Valid ReceptionistRequestDto authCreateUserDto) {
@@ -75,12 +76,7 @@ public class ReceptionistService {
             throw new DniAlreadyExistsException("El DNI " + dni + " ya está registrado en la base de datos.");
         }
 
-        Optional<RoleModel> professionalRole = roleRepository.findByEnumRole(EnumRole.RECEPTIONIST);
-        if (professionalRole.isEmpty()) {
-            throw new IllegalArgumentException("El rol especificado no está configurado en la base de datos.");
-        }
-
-        Set<RoleModel> roleEntities = Set.of(professionalRole.get());
+        Set<RoleModel> roleEntities = Set.of(authorityRegistry.getRoleReference(EnumRole.RECEPTIONIST));
 
         PersonModel personEntity = PersonModel.builder()
                 .dni(dni)
@@ -110,19 +106,10 @@ public class ReceptionistService {
 
         UserModel userCreated = userRepository.save(userEntity);
 
-        List<SimpleGrantedAuthority> authoritiesList = new ArrayList<>();
-
-        userCreated.getRoles().forEach(role ->
-                authoritiesList.add(new SimpleGrantedAuthority("ROLE_".concat(role.getEnumRole().name())))
-        );
-
-        userCreated.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .forEach(permission -> authoritiesList.add(new SimpleGrantedAuthority(permission.getName())));
-
-        UserDetails userDetails = userDetailsService.loadUserByUsername(userCreated.getEmail());
+        List<GrantedAuthority> authoritiesList = authorityRegistry.getAuthorities(EnumRole.RECEPTIONIST);
+        UserDetails userDetails = new User(userCreated.getEmail(), userCreated.getPassword(), authoritiesList);
         Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, userCreated.getPassword(), authoritiesList);
-        String accessToken = jwtUtils.generateJwtToken(authentication);
+        String accessToken = jwtUtils.generateJwtToken(authentication, userCreated.getId(), null);
 
         return new AuthResponseRegisterDto(
                 userCreated.getId(),
@@ -0,0 +1,33 @@
+package com.clinica.aura.modules.scheduler_lock.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease de una tarea programada. Cuando la aplicación corre en varias instancias, solo la que
+ * logra tomar la fila (porque {@code lockedUntil} ya pasó) ejecuta la tarea en ese ciclo.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "scheduler_lock")
+public class SchedulerLockModel {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+}
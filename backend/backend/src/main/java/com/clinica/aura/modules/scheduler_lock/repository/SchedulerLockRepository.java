@@ -0,0 +1,37 @@
+package com.clinica.aura.modules.scheduler_lock.repository;
+
+import com.clinica.aura.modules.scheduler_lock.model.SchedulerLockModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLockModel, String> {
+
+    /**
+     * Crea o toma el lease si no existe o si ya venció, en una sola sentencia atómica.
+     *
+     * @return 1 si el lease quedó tomado por {@code owner}, 0 si lo tiene otra instancia
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO scheduler_lock (name, locked_until, locked_at, locked_by) " +
+            "VALUES (:name, :until, :now, :owner) " +
+            "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, " +
+            "locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by " +
+            "WHERE scheduler_lock.locked_until <= EXCLUDED.locked_at", nativeQuery = true)
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") LocalDateTime now,
+                   @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLockModel l SET l.lockedUntil = :until WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,53 @@
+package com.clinica.aura.modules.scheduler_lock.service;
+
+import com.clinica.aura.modules.scheduler_lock.repository.SchedulerLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Coordina tareas programadas entre instancias mediante un lease en la tabla {@code scheduler_lock}.
+ */
+@Slf4j
+@Service
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final String owner;
+
+    public SchedulerLockService(SchedulerLockRepository schedulerLockRepository) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Ejecuta la tarea solo si esta instancia obtiene el lease.
+     *
+     * @param name          nombre de la tarea
+     * @param lockAtMostFor duración máxima del lease (cubre una instancia que se cae a mitad de la tarea)
+     * @param lockAtLeastFor tiempo mínimo que se conserva el lease aunque la tarea termine antes,
+     *                       para que otra instancia con el reloj levemente desfasado no repita el ciclo
+     * @param task          la tarea
+     * @return true si la tarea se ejecutó en esta instancia
+     */
+    public boolean runIfLeaseAcquired(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        LocalDateTime now = LocalDateTime.now();
+        if (schedulerLockRepository.tryAcquire(name, owner, now, now.plus(lockAtMostFor)) == 0) {
+            log.debug("La tarea {} la está ejecutando otra instancia", name);
+            return false;
+        }
+
+        try {
+            task.run();
+        } finally {
+            LocalDateTime minimum = now.plus(lockAtLeastFor);
+            LocalDateTime finished = LocalDateTime.now();
+            schedulerLockRepository.release(name, owner, finished.isAfter(minimum) ? finished : minimum);
+        }
+        return true;
+    }
+}
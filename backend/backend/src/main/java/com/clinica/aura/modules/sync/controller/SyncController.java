@@ -0,0 +1,49 @@
+package com.clinica.aura.modules.sync.controller;
+
+import com.clinica.aura.modules.sync.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync", description = "Sincronización incremental para clientes sin conexión permanente")
+@PreAuthorize("hasRole('ADMIN') or hasRole('PROFESSIONAL')")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * Devuelve los cambios posteriores a una marca de agua.
+     * <p>
+     * La respuesta incluye la nueva marca ({@code watermark}) que el cliente debe enviar como
+     * {@code since} en la próxima llamada. Sin {@code since} se devuelve todo (sincronización inicial).
+     *
+     * @param since marca de agua de la sincronización anterior (ISO-8601, por ejemplo 2025-05-01T10:15:30)
+     * @return pacientes (las bajas como {@code {"id", "deleted": true}}), antecedentes, historias
+     * clínicas, diagnósticos y seguimientos modificados, y la nueva marca de agua
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Cambios desde una marca de agua", description = "Devuelve en una sola respuesta los pacientes, " +
+            "antecedentes, historias clínicas, diagnósticos y seguimientos modificados desde 'since', junto con la marca " +
+            "'watermark' para la próxima llamada. Los pacientes dados de baja llegan como {id, deleted: true}. Un mismo " +
+            "registro puede repetirse entre llamadas consecutivas, por lo que se aplica como reemplazo por id.")
+    public ResponseEntity<StreamingResponseBody> getChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(syncService.getChanges(since));
+    }
+}
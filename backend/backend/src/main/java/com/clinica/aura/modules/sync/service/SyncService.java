@@ -0,0 +1,230 @@
+package com.clinica.aura.modules.sync.service;
+
+import com.clinica.aura.modules.patient.dto.PatientResponseDto;
+import com.clinica.aura.modules.patient.repository.PatientReadRepository;
+import com.clinica.aura.modules.patient.service.PatientChartService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sincronización incremental para clientes que trabajan con conexión intermitente: devuelve, en
+ * una sola respuesta JSON en streaming, los pacientes, antecedentes, historias clínicas,
+ * diagnósticos y seguimientos modificados desde una marca de agua ({@code since}) y la marca a usar
+ * en la próxima llamada.
+ * <p>
+ * Cada sección es una consulta por {@code updated_at >= :since} ordenada por
+ * {@code (updated_at, id)}, respaldada por los índices {@code idx_*_updated_at_id}, y se lee en una
+ * única transacción de solo lectura {@code REPEATABLE READ}. Los pacientes dados de baja se envían
+ * como {@code {"id": ..., "deleted": true}}; los borrados físicos de seguimientos se reflejan
+ * porque marcan como actualizada su historia clínica, cuya lista {@code followUpIds} queda vigente.
+ * <p>
+ * Los {@code updated_at} los asigna la aplicación al escribir y la fila recién es visible al
+ * confirmar, por lo que la nueva marca de agua se atrasa {@code sync.watermark-lag} respecto del
+ * inicio de la lectura: una fila puede llegar dos veces, pero no se pierde. Los diagnósticos guardan
+ * solo la fecha, así que se reenvían todos los del día de la marca de agua. Los clientes deben
+ * aplicar los cambios como altas o reemplazos por id.
+ */
+@Service
+public class SyncService {
+
+    static final int FETCH_SIZE = 500;
+    static final int PATIENT_CHUNK_SIZE = 500;
+
+    private static final String SELECT_PATIENTS = """
+            SELECT p.id, p.deleted
+              FROM patients p
+             WHERE %s
+             ORDER BY p.updated_at, p.id
+            """;
+    private static final String SELECT_BACKGROUNDS = """
+            SELECT mb.id, mb.patient_id, mb.created_at, mb.updated_at,
+                   (SELECT array_agg(a.allergy) FROM medical_background_allergies a
+                     WHERE a.medical_background_id = mb.id) AS allergies,
+                   (SELECT array_agg(d.disability) FROM medical_background_disabilities d
+                     WHERE d.medical_background_id = mb.id) AS disabilities
+              FROM medical_background mb
+             WHERE %s
+             ORDER BY mb.updated_at, mb.id
+            """;
+    private static final String SELECT_RECORDS = """
+            SELECT mr.id, mr.patient_id, mr.created_by_professional_id, mr.created_at, mr.updated_at,
+                   (SELECT array_agg(d.id ORDER BY d.id) FROM diagnoses d
+                     WHERE d.medical_record_id = mr.id) AS diagnosis_ids,
+                   (SELECT array_agg(f.id ORDER BY f.id) FROM follow_up_entries f
+                     WHERE f.medical_record_id = mr.id) AS follow_up_ids
+              FROM medical_records mr
+             WHERE %s
+             ORDER BY mr.updated_at, mr.id
+            """;
+    private static final String SELECT_DIAGNOSES = """
+            SELECT d.id, d.created_at, d.title, d.details, d.updated_by_professional_id, d.medical_record_id
+              FROM diagnoses d
+             WHERE %s
+             ORDER BY d.updated_at, d.id
+            """;
+    private static final String SELECT_FOLLOW_UPS = """
+            SELECT f.id, f.observations, f.interventions, f.next_session_instructions, f.created_at, f.updated_at,
+                   f.updated_by_professional_id, f.medical_record_id
+              FROM follow_up_entries f
+             WHERE %s
+             ORDER BY f.updated_at, f.id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PatientReadRepository patientReadRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration watermarkLag;
+
+    public SyncService(DataSource dataSource, PatientReadRepository patientReadRepository,
+                       PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                       @Value("${sync.watermark-lag:PT1M}") Duration watermarkLag) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+        this.patientReadRepository = patientReadRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+        this.watermarkLag = watermarkLag;
+    }
+
+    /**
+     * Prepara la respuesta con los cambios desde {@code since}.
+     *
+     * @param since marca de agua devuelta por la llamada anterior, o {@code null} para una
+     *              sincronización completa
+     * @return el cuerpo JSON de la respuesta
+     */
+    public StreamingResponseBody getChanges(LocalDateTime since) {
+        return out -> {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try {
+                        writeChanges(json, since);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            json.flush();
+        };
+    }
+
+    private void writeChanges(JsonGenerator json, LocalDateTime since) throws IOException {
+        // Se calcula dentro de la transacción, antes de leer: todo lo confirmado hasta aquí con
+        // updated_at anterior a la marca ya forma parte de esta respuesta.
+        LocalDateTime watermark = LocalDateTime.now().minus(watermarkLag).truncatedTo(ChronoUnit.MICROS);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (since != null) {
+            params.addValue("since", since).addValue("sinceDate", since.toLocalDate());
+        }
+
+        json.writeStartObject();
+        json.writeObjectField("since", since);
+        json.writeObjectField("watermark", watermark);
+
+        json.writeArrayFieldStart("patients");
+        writePatients(json, params, since);
+        json.writeEndArray();
+
+        json.writeArrayFieldStart("medicalBackgrounds");
+        jdbcTemplate.query(SELECT_BACKGROUNDS.formatted(condition("mb.updated_at", since, "since")), params, rs -> {
+            writeRow(json, PatientChartService.mapBackground(rs, 0));
+        });
+        json.writeEndArray();
+
+        json.writeArrayFieldStart("medicalRecords");
+        jdbcTemplate.query(SELECT_RECORDS.formatted(condition("mr.updated_at", since, "since")), params, rs -> {
+            writeRow(json, PatientChartService.mapRecord(rs, 0));
+        });
+        json.writeEndArray();
+
+        json.writeArrayFieldStart("diagnoses");
+        jdbcTemplate.query(SELECT_DIAGNOSES.formatted(condition("d.updated_at", since, "sinceDate")), params, rs -> {
+            writeRow(json, PatientChartService.mapDiagnosis(rs));
+        });
+        json.writeEndArray();
+
+        json.writeArrayFieldStart("followUps");
+        jdbcTemplate.query(SELECT_FOLLOW_UPS.formatted(condition("f.updated_at", since, "since")), params, rs -> {
+            writeRow(json, PatientChartService.mapFollowUp(rs));
+        });
+        json.writeEndArray();
+
+        json.writeEndObject();
+    }
+
+    /**
+     * Los pacientes activos se escriben con el mismo DTO que el resto de la API, cargados por
+     * bloques de ids; los dados de baja, solo con su id.
+     */
+    private void writePatients(JsonGenerator json, MapSqlParameterSource params, LocalDateTime since) {
+        List<Long> chunk = new ArrayList<>(PATIENT_CHUNK_SIZE);
+        Map<Long, Boolean> deleted = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_PATIENTS.formatted(condition("p.updated_at", since, "since")), params, rs -> {
+            long id = rs.getLong("id");
+            chunk.add(id);
+            deleted.put(id, rs.getBoolean("deleted"));
+            if (chunk.size() == PATIENT_CHUNK_SIZE) {
+                writePatientChunk(json, chunk, deleted);
+            }
+        });
+        writePatientChunk(json, chunk, deleted);
+    }
+
+    private void writePatientChunk(JsonGenerator json, List<Long> chunk, Map<Long, Boolean> deleted) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Long> activeIds = chunk.stream().filter(id -> !deleted.get(id)).toList();
+        Map<Long, PatientResponseDto> active = activeIds.isEmpty()
+                ? Map.of()
+                : patientReadRepository.findActiveByIds(activeIds).stream()
+                        .collect(Collectors.toMap(PatientResponseDto::getId, Function.identity()));
+        for (Long id : chunk) {
+            PatientResponseDto patient = active.get(id);
+            writeRow(json, patient != null ? patient : Map.of("id", id, "deleted", true));
+        }
+        chunk.clear();
+        deleted.clear();
+    }
+
+    private static String condition(String column, LocalDateTime since, String parameter) {
+        return since == null ? "TRUE" : column + " >= :" + parameter;
+    }
+
+    private static void writeRow(JsonGenerator json, Object row) {
+        try {
+            json.writeObject(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
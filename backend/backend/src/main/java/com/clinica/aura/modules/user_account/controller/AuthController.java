@@ -1,5 +1,6 @@
 package com.clinica.aura.modules.user_account.controller;
 
+import com.clinica.aura.config.jwt.AuthenticatedUser;
 import com.clinica.aura.config.jwt.JwtUtils;
 import com.clinica.aura.modules.professional.dtoRequest.ProfessionalRequestDto;
 import com.clinica.aura.modules.professional.service.ProfessionalService;
@@ -12,6 +13,7 @@ import com.clinica.aura.modules.user_account.dtoResponse.AuthResponseDto;
 import com.clinica.aura.modules.user_account.dtoResponse.AuthResponseRegisterDto;
 import com.clinica.aura.modules.user_account.dtoResponse.UserMeResponseDto;
 import com.clinica.aura.modules.user_account.service.impl.UserDetailsServiceImpl;
+import com.clinica.aura.modules.user_account.service.impl.UserProfileCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -53,6 +55,7 @@ public class AuthController {
             "email: admin@example.com, password: admin123")
     @ApiResponse(responseCode = "200", description = "Autenticación exitosa")
     @ApiResponse(responseCode = "401", description = "Credenciales incorrectas")
+    @ApiResponse(responseCode = "429", description = "Demasiados inicios de sesión simultáneos, reintentar según Retry-After")
     @PostMapping("/login")
     public ResponseEntity<AuthResponseDto> login(
             @RequestBody @Valid AuthLoginRequestDto authDto,
@@ -115,6 +118,8 @@ public class AuthController {
 
     /**
      * Obtiene los datos del usuario autenticado.
+     * La respuesta se sirve desde cache e incluye un ETag; si el cliente envía
+     * {@code If-None-Match} con el mismo valor se responde 304 sin consultar la base de datos.
      *
      * @return un ResponseEntity que contiene los datos del usuario autenticado
      */
@@ -125,6 +130,13 @@ public class AuthController {
     @GetMapping("/me")
     public ResponseEntity<UserMeResponseDto> getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.getUserId() != null) {
+            UserProfileCache.CachedProfile profile = userDetailsService.getCurrentUserProfile(principal.getUserId());
+            return ResponseEntity.ok()
+                    .eTag(profile.etag())
+                    .body(profile.profile());
+        }
+
         String email = authentication.getName();
         return ResponseEntity.ok(userDetailsService.getCurrentUser(email));
     }
@@ -148,7 +160,10 @@ public class AuthController {
 
     /**
      * Cierra la sesión del usuario actual.
+     * Además de borrar la cookie, revoca el token en el servidor para que no pueda
+     * reutilizarse aunque todavía no haya expirado.
      *
+     * @param jwtToken el token JWT de la cookie de sesión
      * @param servletResponse la respuesta HTTP
      * @return un ResponseEntity que indica que la sesión se ha cerrado correctamente
      */
@@ -157,7 +172,10 @@ public class AuthController {
             """)
     @PostMapping("/logout")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> logout(HttpServletResponse servletResponse) {
+    public ResponseEntity<?> logout(@CookieValue(name = "jwt_token", required = false) String jwtToken,
+                                    HttpServletResponse servletResponse) {
+        userDetailsService.logoutUser(jwtToken);
+
         ResponseCookie cookie = ResponseCookie.from("jwt_token", "")
                 .httpOnly(true)
                 .secure(true)
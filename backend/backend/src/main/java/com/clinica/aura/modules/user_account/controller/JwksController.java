@@ -0,0 +1,62 @@
+package com.clinica.aura.modules.user_account.controller;
+
+import com.clinica.aura.config.jwt.JwtKeyProvider;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigInteger;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publica las claves públicas de verificación de JWT en formato JWKS (RFC 7517), para que
+ * otras réplicas o validadores en el borde verifiquen tokens sin conocer la clave de firma.
+ */
+@RestController
+@Tag(name = "Authentication", description = "Authentication API")
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyProvider jwtKeyProvider;
+
+    @Operation(summary = "Claves públicas JWT", description = "Devuelve las claves RSA vigentes para verificar tokens (JWKS).")
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        List<Map<String, String>> keys = jwtKeyProvider.getVerificationKeys().entrySet().stream()
+                .map(entry -> toJwk(entry.getKey(), entry.getValue()))
+                .toList();
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", keys));
+    }
+
+    private static Map<String, String> toJwk(String keyId, RSAPublicKey publicKey) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("use", "sig");
+        jwk.put("alg", "RS256");
+        jwk.put("kid", keyId);
+        jwk.put("n", base64Url(publicKey.getModulus()));
+        jwk.put("e", base64Url(publicKey.getPublicExponent()));
+        return jwk;
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
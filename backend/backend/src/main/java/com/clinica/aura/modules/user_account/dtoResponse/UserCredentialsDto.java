@@ -0,0 +1,28 @@
+package com.clinica.aura.modules.user_account.dtoResponse;
+
+import com.clinica.aura.modules.user_account.Enum.EnumRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con los datos necesarios para autenticar a un usuario.
+ * La consulta devuelve una fila por cada rol del usuario. {@code professionalId} es null si la
+ * persona no tiene un profesional activo.
+ */
+@Getter
+@AllArgsConstructor
+public class UserCredentialsDto {
+    private Long id;
+    private String email;
+    private String password;
+    private LocalDateTime suspensionEnd;
+    private Long personId;
+    private Long professionalId;
+    private EnumRole role;
+
+    public boolean isEnabled() {
+        return suspensionEnd == null || suspensionEnd.isBefore(LocalDateTime.now());
+    }
+}
@@ -1,5 +1,6 @@
 package com.clinica.aura.modules.user_account.models;
 
+import com.clinica.aura.modules.user_account.service.impl.RoleAuthorityListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,6 +11,7 @@ import lombok.*;
 @NoArgsConstructor
 @Builder
 @Table(name = "permission")
+@EntityListeners(RoleAuthorityListener.class)
 public class PermissionModel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
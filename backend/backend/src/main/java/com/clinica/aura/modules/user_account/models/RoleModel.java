@@ -1,6 +1,7 @@
 package com.clinica.aura.modules.user_account.models;
 
 import com.clinica.aura.modules.user_account.Enum.EnumRole;
+import com.clinica.aura.modules.user_account.service.impl.RoleAuthorityListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -14,6 +15,7 @@ import java.util.Set;
 @NoArgsConstructor
 @Builder
 @Table(name = "roles")
+@EntityListeners(RoleAuthorityListener.class)
 public class RoleModel {
 
     @Id
@@ -24,7 +26,7 @@ public class RoleModel {
     @Enumerated(EnumType.STRING)
     private EnumRole enumRole;
 
-    @ManyToMany(fetch = FetchType.EAGER , targetEntity = PermissionModel.class)
+    @ManyToMany(fetch = FetchType.LAZY, targetEntity = PermissionModel.class)
     @JoinTable(name = "role_permission",
             joinColumns = @JoinColumn(name = "role_id"),
             inverseJoinColumns = @JoinColumn(name = "permission_id"))
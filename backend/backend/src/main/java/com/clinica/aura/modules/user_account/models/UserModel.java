@@ -1,6 +1,7 @@
 package com.clinica.aura.modules.user_account.models;
 
 import com.clinica.aura.modules.person.model.PersonModel;
+import com.clinica.aura.modules.user_account.service.impl.UserProfileListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -18,6 +19,7 @@ import java.util.Set;
 @NoArgsConstructor
 @Builder
 @Table(name = "users")
+@EntityListeners(UserProfileListener.class)
 public class UserModel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
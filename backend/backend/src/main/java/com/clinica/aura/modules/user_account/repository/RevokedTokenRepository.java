@@ -0,0 +1,23 @@
+package com.clinica.aura.modules.user_account.repository;
+
+import com.clinica.aura.modules.user_account.models.RevokedTokenModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenModel, String> {
+
+    List<RevokedTokenModel> findAllByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedTokenModel> findAllByRevokedAtAfterAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedTokenModel r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,6 +3,7 @@ package com.clinica.aura.modules.user_account.repository;
 import com.clinica.aura.modules.user_account.Enum.EnumRole;
 import com.clinica.aura.modules.user_account.models.RoleModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +12,9 @@ public interface RoleRepository extends JpaRepository<RoleModel, Long> {
     List<RoleModel> findRoleEntitiesByEnumRoleIn(List<String> roles);
     Optional<RoleModel> findByEnumRole(EnumRole role);
 
+    @Query("SELECT DISTINCT r FROM RoleModel r LEFT JOIN FETCH r.permissions")
+    List<RoleModel> findAllWithPermissions();
+
 
 
 }
@@ -2,8 +2,13 @@ package com.clinica.aura.modules.user_account.repository;
 
 import com.clinica.aura.modules.person.model.PersonModel;
 import com.clinica.aura.modules.user_account.Enum.EnumRole;
+import com.clinica.aura.modules.user_account.dtoResponse.UserCredentialsDto;
 import com.clinica.aura.modules.user_account.models.UserModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 
 import java.time.LocalDateTime;
@@ -13,10 +18,35 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<UserModel, Long> {
     Optional<UserModel> findByEmail(String email);
 
+    /**
+     * Carga en una sola consulta el usuario, su estado de suspensión y sus roles.
+     * Devuelve una fila por rol; los permisos se resuelven con {@code AuthorityRegistry}.
+     */
+    @Query("SELECT new com.clinica.aura.modules.user_account.dtoResponse.UserCredentialsDto(" +
+            "u.id, u.email, u.password, u.suspensionEnd, u.person.id, pr.id, r.enumRole) " +
+            "FROM UserModel u LEFT JOIN u.roles r " +
+            "LEFT JOIN ProfessionalModel pr ON pr.id = u.person.id AND pr.deleted = false " +
+            "WHERE u.email = :email")
+    List<UserCredentialsDto> findCredentialsByEmail(@Param("email") String email);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserModel u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
     Optional<UserModel> findByPerson(PersonModel person);
     Optional<UserModel> findByPersonId(Long personId);
 
-    List<UserModel> findAllBySuspensionEndBefore(LocalDateTime now);
+    List<UserModel> findAllBySuspensionEndAfter(LocalDateTime now);
+
+    /**
+     * Levanta en una sola sentencia todas las suspensiones vencidas.
+     *
+     * @return los ids de los usuarios reactivados
+     */
+    @Transactional
+    @Query(value = "UPDATE users SET suspension_end = NULL WHERE suspension_end < :now RETURNING id", nativeQuery = true)
+    List<Long> reactivateExpiredSuspensions(@Param("now") LocalDateTime now);
 
     List<UserModel> findUsersByRolesEnumRole(EnumRole enumRole);
 }
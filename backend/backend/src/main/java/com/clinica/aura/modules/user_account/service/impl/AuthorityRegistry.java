@@ -0,0 +1,134 @@
+package com.clinica.aura.modules.user_account.service.impl;
+
+import com.clinica.aura.modules.user_account.Enum.EnumRole;
+import com.clinica.aura.modules.user_account.models.PermissionModel;
+import com.clinica.aura.modules.user_account.models.RoleModel;
+import com.clinica.aura.modules.user_account.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registro en memoria de las autoridades de cada rol.
+ * <p>
+ * Carga todos los roles con sus permisos en una sola consulta y guarda, para cada
+ * {@link EnumRole}, la lista inmutable de autoridades ({@code ROLE_<rol>} seguido de sus permisos).
+ * Así el login y los registros no necesitan recorrer {@code RoleModel.getPermissions()} ni
+ * consultar las tablas de roles y permisos en cada solicitud.
+ * <p>
+ * Se recarga después de {@link com.clinica.aura.config.CommandInitializerConfig} y se invalida
+ * automáticamente cuando cambia un rol o un permiso (ver {@link RoleAuthorityListener}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthorityRegistry {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final RoleRepository roleRepository;
+
+    private volatile Map<EnumRole, RoleAuthorities> snapshot;
+
+    /**
+     * Devuelve las autoridades precalculadas de un rol.
+     *
+     * @param role el rol
+     * @return lista inmutable con {@code ROLE_<rol>} seguido de los permisos del rol
+     * @throws IllegalArgumentException si el rol no está configurado en la base de datos
+     */
+    public List<GrantedAuthority> getAuthorities(EnumRole role) {
+        return get(role).authorities();
+    }
+
+    /**
+     * Devuelve las autoridades de un conjunto de roles: primero todos los roles y luego
+     * todos sus permisos, sin duplicados.
+     *
+     * @param roles los roles del usuario
+     * @return lista inmutable de autoridades
+     */
+    public List<GrantedAuthority> getAuthorities(Collection<EnumRole> roles) {
+        if (roles.size() == 1) {
+            return getAuthorities(roles.iterator().next());
+        }
+
+        Set<GrantedAuthority> roleAuthorities = new LinkedHashSet<>();
+        Set<GrantedAuthority> permissionAuthorities = new LinkedHashSet<>();
+        roles.stream().distinct().sorted().forEach(role -> {
+            List<GrantedAuthority> authorities = getAuthorities(role);
+            roleAuthorities.add(authorities.get(0));
+            permissionAuthorities.addAll(authorities.subList(1, authorities.size()));
+        });
+        roleAuthorities.addAll(permissionAuthorities);
+        return List.copyOf(roleAuthorities);
+    }
+
+    /**
+     * Devuelve una referencia al rol sin consultar la base de datos, útil para asignar
+     * el rol a un usuario nuevo dentro de una transacción.
+     *
+     * @param role el rol
+     * @return referencia (proxy) al {@link RoleModel}
+     * @throws IllegalArgumentException si el rol no está configurado en la base de datos
+     */
+    public RoleModel getRoleReference(EnumRole role) {
+        return roleRepository.getReferenceById(get(role).roleId());
+    }
+
+    /**
+     * Vuelve a cargar todos los roles y permisos desde la base de datos.
+     */
+    public synchronized void reload() {
+        Map<EnumRole, RoleAuthorities> loaded = new EnumMap<>(EnumRole.class);
+
+        for (RoleModel role : roleRepository.findAllWithPermissions()) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + role.getEnumRole().name()));
+            role.getPermissions().stream()
+                    .map(PermissionModel::getName)
+                    .sorted(Comparator.naturalOrder())
+                    .forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission)));
+
+            loaded.put(role.getEnumRole(), new RoleAuthorities(role.getId(), List.copyOf(authorities)));
+        }
+
+        snapshot = loaded;
+        log.info("Autoridades cargadas para {} roles", loaded.size());
+    }
+
+    /**
+     * Descarta las autoridades cargadas; la próxima consulta las vuelve a leer.
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private RoleAuthorities get(EnumRole role) {
+        Map<EnumRole, RoleAuthorities> current = snapshot;
+        if (current == null) {
+            reload();
+            current = snapshot;
+        }
+
+        RoleAuthorities roleAuthorities = current.get(role);
+        if (roleAuthorities == null) {
+            throw new IllegalArgumentException("El rol especificado no está configurado en la base de datos.");
+        }
+        return roleAuthorities;
+    }
+
+    private record RoleAuthorities(Long roleId, List<GrantedAuthority> authorities) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.clinica.aura.modules.user_account.service.impl;
+
+import com.clinica.aura.modules.person.model.PersonModel;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de {@link PersonModel} que invalida el perfil cacheado en {@link UserProfileCache}
+ * cuando se modifican los datos personales de un usuario por cualquier vía.
+ */
+@Component
+public class PersonProfileListener {
+
+    private final ObjectProvider<UserProfileCache> userProfileCache;
+
+    public PersonProfileListener(ObjectProvider<UserProfileCache> userProfileCache) {
+        this.userProfileCache = userProfileCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(PersonModel person) {
+        userProfileCache.ifAvailable(cache -> cache.invalidateByPersonId(person.getId()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.clinica.aura.modules.user_account.service.impl;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de {@code RoleModel} y {@code PermissionModel} que invalida el
+ * {@link AuthorityRegistry} cuando se crea, modifica o elimina un rol o un permiso. Los perfiles
+ * de {@link UserProfileCache} incluyen los roles, así que también se invalidan.
+ * <p>
+ * Los componentes se obtienen de forma diferida porque dependen de los repositorios JPA,
+ * que a su vez se crean junto con este listener.
+ */
+@Component
+public class RoleAuthorityListener {
+
+    private final ObjectProvider<AuthorityRegistry> authorityRegistry;
+    private final ObjectProvider<UserProfileCache> userProfileCache;
+
+    public RoleAuthorityListener(ObjectProvider<AuthorityRegistry> authorityRegistry,
+                                 ObjectProvider<UserProfileCache> userProfileCache) {
+        this.authorityRegistry = authorityRegistry;
+        this.userProfileCache = userProfileCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        authorityRegistry.ifAvailable(AuthorityRegistry::invalidate);
+        userProfileCache.ifAvailable(UserProfileCache::invalidateAll);
+    }
+}
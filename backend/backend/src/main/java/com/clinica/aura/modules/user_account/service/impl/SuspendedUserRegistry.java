@@ -0,0 +1,138 @@
+package com.clinica.aura.modules.user_account.service.impl;
+
+import com.clinica.aura.config.notification.NotificationHandler;
+import com.clinica.aura.config.notification.NotificationPublisher;
+import com.clinica.aura.config.notification.PostgresNotificationListener;
+import com.clinica.aura.modules.user_account.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro en memoria de los usuarios suspendidos, indexado por email.
+ * <p>
+ * {@code JwtTokenValidator} lo consulta en cada solicitud (búsqueda O(1), sin base de datos),
+ * de modo que una suspensión rige de inmediato aunque el usuario conserve un token válido.
+ * <p>
+ * Se carga al iniciar y se actualiza al suspender o reactivar usuarios. Cada cambio se publica
+ * con {@code pg_notify} en el canal {@value #CHANNEL} dentro de la misma transacción; Postgres
+ * entrega la notificación solo si la transacción confirma y las demás instancias la reciben en
+ * {@link PostgresNotificationListener}.
+ */
+@Slf4j
+@Service
+public class SuspendedUserRegistry implements NotificationHandler {
+
+    public static final String CHANNEL = "user_suspension";
+    private static final String SEPARATOR = "\t";
+
+    private final UserRepository userRepository;
+    private final NotificationPublisher notificationPublisher;
+
+    private final Map<String, LocalDateTime> suspended = new ConcurrentHashMap<>();
+
+    public SuspendedUserRegistry(UserRepository userRepository, NotificationPublisher notificationPublisher) {
+        this.userRepository = userRepository;
+        this.notificationPublisher = notificationPublisher;
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void resync() {
+        reload();
+    }
+
+    /**
+     * Vuelve a cargar todas las suspensiones vigentes desde la base de datos.
+     * Se usa al iniciar y cada vez que se restablece la conexión de LISTEN, por si se perdieron
+     * notificaciones mientras estaba caída.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Map<String, LocalDateTime> current = new ConcurrentHashMap<>();
+        userRepository.findAllBySuspensionEndAfter(LocalDateTime.now())
+                .forEach(user -> current.put(user.getEmail(), user.getSuspensionEnd()));
+
+        suspended.keySet().retainAll(current.keySet());
+        suspended.putAll(current);
+        log.info("Usuarios suspendidos cargados: {}", suspended.size());
+    }
+
+    /**
+     * Indica si el usuario está suspendido en este momento.
+     *
+     * @param email el email del usuario (subject del token)
+     * @return true si tiene una suspensión vigente
+     */
+    public boolean isSuspended(String email) {
+        LocalDateTime end = suspended.get(email);
+        if (end == null) {
+            return false;
+        }
+        if (end.isBefore(LocalDateTime.now())) {
+            suspended.remove(email, end);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve el fin de la suspensión vigente, o null si el usuario no está suspendido.
+     */
+    public LocalDateTime getSuspensionEnd(String email) {
+        return isSuspended(email) ? suspended.get(email) : null;
+    }
+
+    /**
+     * Registra una suspensión. Debe llamarse dentro de la transacción que la persiste.
+     */
+    public void suspended(String email, LocalDateTime suspensionEnd) {
+        publish(email, suspensionEnd);
+    }
+
+    /**
+     * Registra la reactivación de un usuario. Debe llamarse dentro de la transacción que la persiste.
+     */
+    public void activated(String email) {
+        publish(email, null);
+    }
+
+    /**
+     * Aplica un cambio recibido por el canal de notificaciones.
+     *
+     * @param payload {@code email<TAB>fin} o {@code email<TAB>} para una reactivación
+     */
+    @Override
+    public void handle(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0) {
+            log.warn("Notificación de suspensión inválida: {}", payload);
+            return;
+        }
+        String email = payload.substring(0, separator);
+        String end = payload.substring(separator + 1);
+        applyLocally(email, end.isEmpty() ? null : LocalDateTime.parse(end));
+    }
+
+    private void publish(String email, LocalDateTime suspensionEnd) {
+        String payload = email + SEPARATOR + (suspensionEnd == null ? "" : suspensionEnd.toString());
+        notificationPublisher.publish(CHANNEL, payload, () -> applyLocally(email, suspensionEnd));
+    }
+
+    private void applyLocally(String email, LocalDateTime suspensionEnd) {
+        if (suspensionEnd == null || suspensionEnd.isBefore(LocalDateTime.now())) {
+            suspended.remove(email);
+        } else {
+            suspended.put(email, suspensionEnd);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.clinica.aura.modules.user_account.service.impl;
 
 import com.clinica.aura.config.jwt.JwtUtils;
+import com.clinica.aura.config.jwt.JwtVerificationCache;
+import com.clinica.aura.config.jwt.TokenRevocationList;
+import com.clinica.aura.config.jwt.VerifiedJwt;
 import com.clinica.aura.exceptions.DniAlreadyExistsException;
 import com.clinica.aura.exceptions.EmailAlreadyExistsException;
 import com.clinica.aura.modules.person.repository.PersonRepository;
@@ -10,8 +13,10 @@ import com.clinica.aura.modules.user_account.dtoRequest.AuthLoginRequestDto;
 import com.clinica.aura.modules.user_account.dtoRequest.SuspendRequestDto;
 import com.clinica.aura.modules.user_account.dtoRequest.UserMeRequestDto;
 import com.clinica.aura.modules.user_account.dtoResponse.AuthResponseDto;
+import com.clinica.aura.modules.user_account.dtoResponse.UserCredentialsDto;
 import com.clinica.aura.modules.user_account.dtoResponse.UserMeResponseDto;
 import com.clinica.aura.modules.user_account.dtoResponse.UserResponseDto;
+import com.clinica.aura.modules.user_account.models.RoleModel;
 import com.clinica.aura.modules.user_account.models.UserModel;
 import com.clinica.aura.modules.user_account.repository.RoleRepository;
 import com.clinica.aura.modules.user_account.repository.UserRepository;
@@ -21,7 +26,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -35,32 +40,34 @@ import org.springframework.validation.annotation.Validated;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Validated
 public class UserDetailsServiceImpl implements UserDetailsService {
+    /** Fin de suspensión usado para las suspensiones sin plazo. */
+    static final LocalDateTime INDEFINITE_SUSPENSION_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
     private final RoleRepository roleRepository;
     private final ProfessionalRepository professionalRepository;
     private final PersonRepository personRepository;
+    private final JwtVerificationCache jwtVerificationCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final AuthorityRegistry authorityRegistry;
+    private final SuspendedUserRegistry suspendedUserRegistry;
+    private final UserProfileCache userProfileCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         UserModel userEntity = userRepository.findByEmail(email).orElseThrow(() -> new UsernameNotFoundException(
                 "El usuario con el email " + email + "no existe"));
 
-        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-
-        userEntity.getRoles().forEach(role -> {
-            authorities.add(new SimpleGrantedAuthority("ROLE_".concat(role.getEnumRole().name())));
-        });
-
-        userEntity.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission.getName())));
+        List<GrantedAuthority> authorities = authorityRegistry.getAuthorities(
+                userEntity.getRoles().stream().map(RoleModel::getEnumRole).toList());
 
         return new User(userEntity.getEmail(),
                 userEntity.getPassword(),
@@ -75,41 +82,89 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         String email = authDto.getEmail();
         String password = authDto.getPassword();
 
-        Long id = userRepository.findByEmail(email)
-                .map(UserModel::getId)
-                .orElseThrow(() -> new UsernameNotFoundException("El Id del usuario con el correo " + email + " no existe"));
+        List<UserCredentialsDto> credentials = loadCredentials(email);
 
-
-        Authentication authentication = this.authenticate(email, password);
+        Authentication authentication = this.authenticate(credentials, password);
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
+        UserCredentialsDto user = credentials.get(0);
+        Long professionalId = credentials.stream().anyMatch(row -> row.getRole() == EnumRole.PROFESSIONAL)
+                ? user.getProfessionalId()
+                : null;
 
-        String token = jwtUtils.generateJwtToken(authentication);
-        return new AuthResponseDto(id, email, "Autenticación exitosa", token, true);
-
+        String token = jwtUtils.generateJwtToken(authentication, user.getId(), professionalId);
+        return new AuthResponseDto(user.getId(), email, "Autenticación exitosa", token, true);
+    }
 
+    /**
+     * Revoca el token de la sesión actual hasta su expiración.
+     *
+     * @param token el token JWT de la cookie de sesión, puede ser null
+     */
+    public void logoutUser(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        VerifiedJwt verifiedJwt = jwtVerificationCache.verify(token);
+        tokenRevocationList.revoke(verifiedJwt.getJti(), verifiedJwt.getExpiresAt());
     }
 
     public Authentication authenticate(String username, String password) {
-        UserDetails userDetails = loadUserByUsername(username);
-
-        UserModel userEntity = userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
+        return authenticate(loadCredentials(username), password);
+    }
 
-        if (!userEntity.isEnabled()) {
-            throw new DisabledException("Usuario suspendido hasta: " + userEntity.getSuspensionEnd());
+    /**
+     * Obtiene las credenciales del usuario con una única consulta (una fila por rol).
+     *
+     * @param email el email del usuario
+     * @return las filas de credenciales, nunca vacía
+     * @throws UsernameNotFoundException si no existe un usuario con ese email
+     */
+    private List<UserCredentialsDto> loadCredentials(String email) {
+        List<UserCredentialsDto> credentials = userRepository.findCredentialsByEmail(email);
+        if (credentials.isEmpty()) {
+            throw new UsernameNotFoundException("El usuario con el email " + email + " no existe");
         }
+        return credentials;
+    }
+
+    /**
+     * Verifica suspensión y contraseña sin volver a consultar la base de datos; las
+     * autoridades se toman del {@link AuthorityRegistry}.
+     */
+    private Authentication authenticate(List<UserCredentialsDto> credentials, String password) {
+        UserCredentialsDto user = credentials.get(0);
 
+        if (!user.isEnabled()) {
+            throw new DisabledException("Usuario suspendido hasta: " + user.getSuspensionEnd());
+        }
 
-        if (!passwordEncoder.matches(password, userDetails.getPassword())) {
+        if (!passwordEncoder.matches(password, user.getPassword())) {
             throw new BadCredentialsException("Contraseña incorrecta");
         }
 
-        return new UsernamePasswordAuthenticationToken(userDetails, userDetails.getPassword(), userDetails.getAuthorities());
+        upgradePasswordIfNeeded(user, password);
 
+        List<GrantedAuthority> authorities = authorityRegistry.getAuthorities(credentials.stream()
+                .map(UserCredentialsDto::getRole)
+                .filter(Objects::nonNull)
+                .toList());
+
+        UserDetails userDetails = new User(user.getEmail(), user.getPassword(), authorities);
+        return new UsernamePasswordAuthenticationToken(userDetails, user.getPassword(), authorities);
     }
 
 
+    /**
+     * Vuelve a generar el hash con el perfil activo si la contraseña se guardó con un perfil
+     * anterior (por ejemplo BCrypt sin prefijo o con un costo menor).
+     */
+    private void upgradePasswordIfNeeded(UserCredentialsDto user, String rawPassword) {
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            userRepository.updatePassword(user.getId(), passwordEncoder.encode(rawPassword));
+        }
+    }
+
     public List<UserResponseDto> getUsersByRoleAdmin() {
         List<UserModel> users = userRepository.findUsersByRolesEnumRole(EnumRole.ADMIN);
         List<UserResponseDto> userResponseDtos = new ArrayList<>();
@@ -133,6 +188,25 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         UserModel user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario con el email " + email + " no encontrado"));
 
+        return toUserMeResponse(user);
+    }
+
+    /**
+     * Obtiene el perfil del usuario autenticado desde {@link UserProfileCache}, cargándolo de la
+     * base de datos solo si no está en cache.
+     *
+     * @param userId el id del usuario (claim {@code uid} del token)
+     * @return el perfil junto con su ETag
+     */
+    public UserProfileCache.CachedProfile getCurrentUserProfile(Long userId) {
+        return userProfileCache.get(userId, id -> {
+            UserModel user = userRepository.findById(id)
+                    .orElseThrow(() -> new UsernameNotFoundException("Usuario con el id " + id + " no encontrado"));
+            return new UserProfileCache.LoadedProfile(user.getPerson().getId(), toUserMeResponse(user));
+        });
+    }
+
+    private UserMeResponseDto toUserMeResponse(UserModel user) {
         return UserMeResponseDto.builder()
                 .id(user.getId())
                 .email(user.getEmail())
@@ -144,6 +218,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .dni(user.getPerson().getDni())
                 .roles(user.getRoles().stream()
                         .map(role -> role.getEnumRole().name())
+                        .sorted()
                         .toList())
                 .build();
     }
@@ -174,6 +249,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         user.getPerson().setAddress(userMeRequest.getAddress());
 
         userRepository.save(user);
+        userProfileCache.invalidate(user.getId());
         return getCurrentUser(user.getEmail());
     }
 
@@ -187,6 +263,20 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         LocalDateTime now = LocalDateTime.now();
         user.setSuspensionEnd(calculateSuspensionEnd(now, duration, unit));
         userRepository.save(user);
+        suspendedUserRegistry.suspended(user.getEmail(), user.getSuspensionEnd());
+    }
+
+    /**
+     * Suspende al usuario sin plazo, por ejemplo al dar de baja al profesional asociado. Sus tokens
+     * vigentes dejan de aceptarse en todas las instancias apenas se confirma la transacción.
+     *
+     * @param user el usuario a suspender
+     */
+    @Transactional
+    public void suspendIndefinitely(UserModel user) {
+        user.setSuspensionEnd(INDEFINITE_SUSPENSION_END);
+        userRepository.save(user);
+        suspendedUserRegistry.suspended(user.getEmail(), user.getSuspensionEnd());
     }
 
     private LocalDateTime calculateSuspensionEnd(LocalDateTime start, int duration, SuspendRequestDto.TimeUnit unit) {
@@ -204,5 +294,6 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
         user.setSuspensionEnd(null);
         userRepository.save(user);
+        suspendedUserRegistry.activated(user.getEmail());
     }
 }
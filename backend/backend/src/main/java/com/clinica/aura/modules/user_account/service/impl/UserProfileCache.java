@@ -0,0 +1,161 @@
+package com.clinica.aura.modules.user_account.service.impl;
+
+import com.clinica.aura.config.notification.NotificationHandler;
+import com.clinica.aura.config.notification.NotificationPublisher;
+import com.clinica.aura.config.notification.PostgresNotificationListener;
+import com.clinica.aura.modules.user_account.dtoResponse.UserMeResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache del perfil de {@code /auth/me} por id de usuario, con un ETag fuerte por entrada.
+ * <p>
+ * El ETag es un hash SHA-256 del perfil serializado: cambia solo si cambia el contenido y es el
+ * mismo en todas las instancias y después de reiniciar. Así una solicitud con {@code If-None-Match}
+ * se responde con 304 comparando contra la memoria, sin consultar la base de datos.
+ * <p>
+ * La entrada se invalida al actualizar el usuario ({@link UserProfileListener}), su persona
+ * ({@link PersonProfileListener}) o los roles ({@link RoleAuthorityListener}). Cada invalidación se
+ * publica con {@code pg_notify} en el canal {@value #CHANNEL} y las demás instancias la aplican
+ * desde {@link PostgresNotificationListener}; el vencimiento ({@code user.profile-cache.ttl}) queda
+ * como respaldo ante notificaciones perdidas.
+ * <p>
+ * Tamaño, aciertos y fallos se publican en Micrometer con el nombre {@code user.profile}.
+ */
+@Slf4j
+@Component
+public class UserProfileCache implements NotificationHandler {
+
+    public static final String CHANNEL = "user_profile";
+    private static final String SEPARATOR = "\t";
+    private static final String USER = "user";
+    private static final String PERSON = "person";
+    private static final String ALL = "all";
+    private static final int ETAG_BYTES = 16;
+
+    private final ObjectMapper objectMapper;
+    private final NotificationPublisher notificationPublisher;
+    private final Cache<Long, CachedProfile> cache;
+    // Una entrada por usuario que alguna vez consultó su perfil; no se purga porque es pequeño.
+    private final Map<Long, Long> userIdByPersonId = new ConcurrentHashMap<>();
+
+    public UserProfileCache(ObjectMapper objectMapper,
+                            NotificationPublisher notificationPublisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${user.profile-cache.max-size:10000}") long maxSize,
+                            @Value("${user.profile-cache.ttl:PT5M}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.notificationPublisher = notificationPublisher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "user.profile");
+    }
+
+    /**
+     * Devuelve el perfil cacheado o lo carga con {@code loader}.
+     *
+     * @param userId el id del usuario
+     * @param loader carga el perfil y el id de persona desde la base de datos
+     * @return el perfil junto con su ETag
+     */
+    public CachedProfile get(Long userId, Function<Long, LoadedProfile> loader) {
+        return cache.get(userId, id -> {
+            LoadedProfile loaded = loader.apply(id);
+            userIdByPersonId.put(loaded.personId(), id);
+            return new CachedProfile(etag(loaded.profile()), loaded.personId(), loaded.profile());
+        });
+    }
+
+    /**
+     * Invalida el perfil del usuario en todas las instancias cuando confirma la transacción actual.
+     */
+    public void invalidate(Long userId) {
+        notificationPublisher.publish(CHANNEL, USER + SEPARATOR + userId, () -> cache.invalidate(userId));
+    }
+
+    /**
+     * Invalida en todas las instancias el perfil del usuario asociado a la persona, si está en cache.
+     */
+    public void invalidateByPersonId(Long personId) {
+        notificationPublisher.publish(CHANNEL, PERSON + SEPARATOR + personId, () -> invalidatePerson(personId));
+    }
+
+    /**
+     * Invalida todos los perfiles en todas las instancias, por ejemplo al modificar un rol.
+     */
+    public void invalidateAll() {
+        notificationPublisher.publish(CHANNEL, ALL + SEPARATOR, cache::invalidateAll);
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    /**
+     * Aplica una invalidación recibida por el canal de notificaciones.
+     *
+     * @param payload {@code user<TAB>id}, {@code person<TAB>id} o {@code all<TAB>}
+     */
+    @Override
+    public void handle(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        String kind = separator < 0 ? payload : payload.substring(0, separator);
+        switch (kind) {
+            case USER -> cache.invalidate(Long.valueOf(payload.substring(separator + 1)));
+            case PERSON -> invalidatePerson(Long.valueOf(payload.substring(separator + 1)));
+            case ALL -> cache.invalidateAll();
+            default -> log.warn("Notificación de perfil inválida: {}", payload);
+        }
+    }
+
+    /**
+     * Descarta toda la cache: no se sabe qué invalidaciones se perdieron mientras la conexión de
+     * LISTEN estuvo caída.
+     */
+    @Override
+    public void resync() {
+        cache.invalidateAll();
+    }
+
+    private void invalidatePerson(Long personId) {
+        Long userId = userIdByPersonId.get(personId);
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    private String etag(UserMeResponseDto profile) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(profile));
+            return "\"" + HexFormat.of().formatHex(Arrays.copyOf(digest, ETAG_BYTES)) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular el ETag del perfil", e);
+        }
+    }
+
+    public record LoadedProfile(Long personId, UserMeResponseDto profile) {
+    }
+
+    public record CachedProfile(String etag, Long personId, UserMeResponseDto profile) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.clinica.aura.modules.user_account.service.impl;
+
+import com.clinica.aura.modules.user_account.models.UserModel;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de {@link UserModel} que invalida el perfil cacheado en {@link UserProfileCache}
+ * cuando se modifica el usuario por cualquier vía.
+ * <p>
+ * JPA no emite {@code @PostUpdate} si solo cambia la colección de roles; quien modifique los roles
+ * de un usuario debe llamar a {@link UserProfileCache#invalidate(Long)}.
+ */
+@Component
+public class UserProfileListener {
+
+    private final ObjectProvider<UserProfileCache> userProfileCache;
+
+    public UserProfileListener(ObjectProvider<UserProfileCache> userProfileCache) {
+        this.userProfileCache = userProfileCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(UserModel user) {
+        userProfileCache.ifAvailable(cache -> cache.invalidate(user.getId()));
+    }
+}
@@ -1,42 +1,69 @@
 package com.clinica.aura.modules.user_account.service.impl;
 
-import com.clinica.aura.modules.user_account.models.UserModel;
+import com.clinica.aura.modules.scheduler_lock.service.SchedulerLockService;
 import com.clinica.aura.modules.user_account.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Reactiva a los usuarios cuya suspensión ya venció.
+ * <p>
+ * La frecuencia se configura con {@code user.suspension-expiry.cron}. Si hay varias instancias,
+ * solo la que obtiene el lease {@value #LOCK_NAME} ejecuta cada ciclo.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
-@EnableScheduling
 public class UserSchedulerService {
+
+    static final String LOCK_NAME = "user-suspension-expiry";
+
     private final UserRepository userRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final Duration lockAtMostFor;
+    private final Duration lockAtLeastFor;
+    private final Timer duration;
+    private final Counter reactivated;
+
+    public UserSchedulerService(UserRepository userRepository,
+                                SchedulerLockService schedulerLockService,
+                                MeterRegistry meterRegistry,
+                                @Value("${user.suspension-expiry.lock-at-most-for:PT5M}") Duration lockAtMostFor,
+                                @Value("${user.suspension-expiry.lock-at-least-for:PT30S}") Duration lockAtLeastFor) {
+        this.userRepository = userRepository;
+        this.schedulerLockService = schedulerLockService;
+        this.lockAtMostFor = lockAtMostFor;
+        this.lockAtLeastFor = lockAtLeastFor;
+        this.duration = Timer.builder("user.suspension.expiry.duration")
+                .description("Duración de la tarea que levanta suspensiones vencidas")
+                .register(meterRegistry);
+        this.reactivated = Counter.builder("user.suspension.expiry.reactivated")
+                .description("Usuarios reactivados al vencer su suspensión")
+                .register(meterRegistry);
+    }
 
-    @Scheduled(cron = "0 0 0 * * ?")
-    @Transactional
+    @Scheduled(cron = "${user.suspension-expiry.cron:0 */5 * * * *}")
     public void checkExpiredSuspensions() {
-        List<UserModel> suspendedUsers = userRepository.findAllBySuspensionEndBefore(LocalDateTime.now());
+        schedulerLockService.runIfLeaseAcquired(LOCK_NAME, lockAtMostFor, lockAtLeastFor,
+                () -> duration.record(this::reactivateExpired));
+    }
 
-        if (suspendedUsers.isEmpty()) {
-            log.info("No hay usuarios para reactivar.");
-            return;
-        }
+    private void reactivateExpired() {
+        List<Long> userIds = userRepository.reactivateExpiredSuspensions(LocalDateTime.now());
+        reactivated.increment(userIds.size());
 
-        suspendedUsers.forEach(user -> {
-            try {
-                user.setSuspensionEnd(null);
-                userRepository.save(user);
-                log.info("Usuario {} reactivado automáticamente", user.getEmail());
-            } catch (Exception e) {
-                log.error("Error al reactivar al usuario {}: {}", user.getEmail(), e.getMessage());
-            }
-        });
+        if (userIds.isEmpty()) {
+            log.debug("No hay usuarios para reactivar.");
+        } else {
+            log.info("Usuarios reactivados automáticamente: {}", userIds);
+        }
     }
 }
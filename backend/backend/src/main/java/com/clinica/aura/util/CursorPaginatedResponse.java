@@ -0,0 +1,25 @@
+package com.clinica.aura.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Respuesta paginada por cursor (keyset).
+ * Para pedir la página siguiente se envía {@code nextCursor} tal cual se recibió; es null cuando
+ * no hay más resultados. {@code totalElements} solo se informa si se solicita explícitamente.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPaginatedResponse<T> {
+    private List<T> content;
+    private String nextCursor;
+    private int pageSize;
+    private boolean hasNext;
+    private Long totalElements;
+}
@@ -0,0 +1,60 @@
+package com.clinica.aura.util;
+
+import com.clinica.aura.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginación keyset sobre un orden estable {@code (clave, id)}.
+ * Se serializa como Base64 URL-safe de {@code listado|clave|id}; el cliente no debe interpretarlo.
+ * <p>
+ * El listado identifica el endpoint y el orden que emitió el cursor, de modo que un cursor no se
+ * acepta en otro listado aunque la clave tenga un valor válido para ambos.
+ *
+ * @param listing identificador del listado y su orden (sin {@code |})
+ * @param key     valor de la columna de orden de la última fila devuelta
+ * @param id      id de la última fila devuelta (desempata filas con la misma clave)
+ */
+public record KeysetCursor(String listing, String key, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = listing + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente y verifica que lo haya emitido el mismo listado.
+     *
+     * @param cursor  el cursor, puede ser null o vacío para la primera página
+     * @param listing el listado que lo recibe
+     * @return el cursor decodificado, o null si no se envió
+     * @throws InvalidCursorException si el cursor está mal formado o pertenece a otro listado
+     */
+    public static KeysetCursor decode(String cursor, String listing) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        KeysetCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // El listado no contiene el separador y el id es numérico: la clave queda en el medio
+            // aunque contenga '|'.
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last) {
+                throw new InvalidCursorException("El cursor de paginación no es válido");
+            }
+            decoded = new KeysetCursor(raw.substring(0, first), raw.substring(first + 1, last),
+                    Long.parseLong(raw.substring(last + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("El cursor de paginación no es válido");
+        }
+        if (!decoded.listing().equals(listing)) {
+            throw new InvalidCursorException("El cursor no corresponde a este listado");
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,49 @@
+package com.clinica.aura.util;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto para búsquedas: minúsculas, sin tildes ni diéresis ("González" y
+ * "Gonzalez" se normalizan igual), sin signos y con los espacios colapsados.
+ * La misma función se aplica al guardar la columna de búsqueda y al recibir la consulta.
+ */
+public final class SearchText {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchText() {
+    }
+
+    /**
+     * Normaliza y concatena las partes no nulas separadas por un espacio.
+     *
+     * @return el texto normalizado, o null si no queda ningún carácter
+     */
+    public static String fold(String... parts) {
+        StringBuilder joined = new StringBuilder();
+        for (String part : parts) {
+            if (part != null) {
+                joined.append(part).append(' ');
+            }
+        }
+        String decomposed = Normalizer.normalize(joined, Normalizer.Form.NFD);
+        String folded = NON_ALPHANUMERIC.matcher(COMBINING_MARKS.matcher(decomposed).replaceAll(""))
+                .replaceAll(" ")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+        return folded.isEmpty() ? null : folded;
+    }
+
+    /**
+     * Normaliza las partes y las separa en palabras.
+     */
+    public static List<String> terms(String... parts) {
+        String folded = fold(parts);
+        return folded == null ? List.of() : Arrays.asList(folded.split(" "));
+    }
+}
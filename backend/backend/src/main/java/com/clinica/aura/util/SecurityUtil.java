@@ -1,5 +1,6 @@
 package com.clinica.aura.util;
 
+import com.clinica.aura.config.jwt.AuthenticatedUser;
 import com.clinica.aura.exceptions.ProfessionalNotFoundException;
 import com.clinica.aura.exceptions.UnauthorizedAccessException;
 import com.clinica.aura.modules.person.model.PersonModel;
@@ -8,6 +9,7 @@ import com.clinica.aura.modules.professional.repository.ProfessionalRepository;
 import com.clinica.aura.modules.user_account.models.UserModel;
 import com.clinica.aura.modules.user_account.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -18,13 +20,35 @@ public class SecurityUtil {
     private final UserRepository userRepository;
     private final ProfessionalRepository professionalRepository;
 
+    /**
+     * Obtiene el profesional autenticado.
+     * <p>
+     * Con los tokens actuales el id del profesional viaja en el claim {@code pid}, por lo que se
+     * devuelve una referencia ({@code getReferenceById}) sin consultar la base de datos; alcanza
+     * para asignarlo como autor de un registro. El claim solo se emite para profesionales activos y
+     * dar de baja a un profesional suspende su usuario, de modo que no queda un token vigente con el
+     * id de un profesional eliminado. Los tokens emitidos antes de agregar el claim se
+     * resuelven con la búsqueda por email hasta que expiren.
+     *
+     * @return el profesional autenticado (posiblemente un proxy sin inicializar)
+     * @throws UnauthorizedAccessException   si no hay un usuario autenticado
+     * @throws ProfessionalNotFoundException si el usuario autenticado no es un profesional
+     */
     public ProfessionalModel getAuthenticatedProfessional() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication == null ? null : authentication.getName();
 
-        if ("anonymousUser".equals(email)) {
+        if (email == null || "anonymousUser".equals(email)) {
             throw new UnauthorizedAccessException("Debe iniciar sesión un profesional para realizar esta operación");
         }
 
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.getUserId() != null) {
+            if (principal.getProfessionalId() == null) {
+                throw new ProfessionalNotFoundException("El usuario " + email + " no es un profesional");
+            }
+            return professionalRepository.getReferenceById(principal.getProfessionalId());
+        }
+
         UserModel user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("El usuario con el email " + email + " no existe"));
 
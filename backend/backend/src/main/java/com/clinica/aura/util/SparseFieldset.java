@@ -0,0 +1,50 @@
+package com.clinica.aura.util;
+
+import com.clinica.aura.exceptions.InvalidFieldsException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Interpreta el parámetro {@code fields} de los listados ("sparse fieldsets"): una lista de campos
+ * del DTO separada por comas. El listado devuelve solo esos campos y consulta solo las columnas y
+ * uniones que necesitan.
+ */
+public final class SparseFieldset {
+
+    private SparseFieldset() {
+    }
+
+    /**
+     * Valida los campos pedidos y los devuelve en el orden de {@code available}, que es el orden en
+     * que se escriben en la respuesta.
+     *
+     * @param fields    el valor del parámetro, por ejemplo {@code "name,lastName,dni"}
+     * @param available los campos del DTO, en su orden de declaración
+     * @return los campos pedidos, o null si el parámetro no se envió (se devuelve el DTO completo)
+     * @throws InvalidFieldsException si se pide un campo que no existe
+     */
+    public static Set<String> parse(String fields, List<String> available) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!available.contains(trimmed)) {
+                throw new InvalidFieldsException("Campo desconocido: " + trimmed + ". Campos válidos: " + available);
+            }
+            requested.add(trimmed);
+        }
+        if (requested.isEmpty()) {
+            return null;
+        }
+        Set<String> ordered = new LinkedHashSet<>();
+        available.stream().filter(requested::contains).forEach(ordered::add);
+        return ordered;
+    }
+}
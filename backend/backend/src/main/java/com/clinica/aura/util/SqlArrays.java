@@ -0,0 +1,54 @@
+package com.clinica.aura.util;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conversión de columnas {@code ARRAY} de JDBC a listas.
+ * <p>
+ * El tipo del arreglo que devuelve {@link Array#getArray()} depende del driver (Postgres devuelve
+ * {@code Long[]} o {@code String[]}, otros drivers {@code Object[]} o {@code Integer[]}), por eso
+ * los elementos se convierten uno por uno en lugar de castear el arreglo completo. En todos los
+ * casos el {@link Array} se libera.
+ */
+public final class SqlArrays {
+
+    private SqlArrays() {
+    }
+
+    /**
+     * @param array el arreglo leído con {@code ResultSet.getArray}, puede ser null
+     * @return los elementos como {@code Long}, o una lista vacía si el arreglo es null
+     */
+    public static List<Long> toLongList(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return Arrays.stream((Object[]) array.getArray())
+                    .map(value -> value == null ? null : ((Number) value).longValue())
+                    .toList();
+        } finally {
+            array.free();
+        }
+    }
+
+    /**
+     * @param array el arreglo leído con {@code ResultSet.getArray}, puede ser null
+     * @return los elementos como {@code String}, o una lista vacía si el arreglo es null
+     */
+    public static List<String> toStringList(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return Arrays.stream((Object[]) array.getArray())
+                    .map(value -> value == null ? null : value.toString())
+                    .toList();
+        } finally {
+            array.free();
+        }
+    }
+}
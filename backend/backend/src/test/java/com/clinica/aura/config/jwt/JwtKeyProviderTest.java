@@ -0,0 +1,35 @@
+package com.clinica.aura.config.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sin keystore la aplicación no debe iniciar, salvo con el perfil de desarrollo.
+ */
+class JwtKeyProviderTest {
+
+    @Test
+    void failsWithoutKeystoreOutsideDevProfile() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+
+        assertThrows(IllegalStateException.class,
+                () -> new JwtKeyProvider(new DefaultResourceLoader(), environment, "", "", ""));
+    }
+
+    @Test
+    void usesEphemeralKeyInDevProfile() throws Exception {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(JwtKeyProvider.DEV_PROFILE);
+
+        JwtKeyProvider keyProvider = new JwtKeyProvider(new DefaultResourceLoader(), environment, "", "", "");
+
+        assertTrue(keyProvider.getPrivateKeyId().startsWith("ephemeral-"));
+        assertNotNull(keyProvider.getPublicKeyById(keyProvider.getPrivateKeyId()));
+    }
+}
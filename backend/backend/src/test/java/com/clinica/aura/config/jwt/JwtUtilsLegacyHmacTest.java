@@ -0,0 +1,103 @@
+package com.clinica.aura.config.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Los tokens HS256 anteriores a RS256 solo se aceptan con el modo heredado activo, si se emitieron
+ * antes de la fecha de corte y mientras no haya pasado {@code cutover + jwt.expiration.time}.
+ */
+class JwtUtilsLegacyHmacTest {
+
+    private static final String SECRET = "clave-heredada";
+    private static final String ISSUER = "aura";
+    private static final long EXPIRATION_TIME = Duration.ofHours(2).toMillis();
+
+    @Test
+    void rejectsHmacTokensByDefault() throws Exception {
+        JwtUtils jwtUtils = jwtUtils(false, null);
+
+        String token = hmacToken(Instant.now().minusSeconds(60));
+
+        assertThrows(JWTVerificationException.class, () -> jwtUtils.validateToken(token));
+    }
+
+    @Test
+    void acceptsHmacTokensIssuedBeforeTheCutover() throws Exception {
+        Instant cutover = Instant.now().minusSeconds(600);
+        JwtUtils jwtUtils = jwtUtils(true, cutover);
+
+        String token = hmacToken(cutover.minusSeconds(60));
+
+        assertEquals("ana@aura.com", jwtUtils.validateToken(token).getSubject());
+    }
+
+    @Test
+    void rejectsHmacTokensIssuedAfterTheCutover() throws Exception {
+        Instant cutover = Instant.now().minusSeconds(600);
+        JwtUtils jwtUtils = jwtUtils(true, cutover);
+
+        String token = hmacToken(cutover.plusSeconds(60));
+
+        assertThrows(JWTVerificationException.class, () -> jwtUtils.validateToken(token));
+    }
+
+    @Test
+    void rejectsHmacTokensOnceTheWindowIsOver() throws Exception {
+        Instant cutover = Instant.now().minusMillis(EXPIRATION_TIME).minusSeconds(60);
+        JwtUtils jwtUtils = jwtUtils(true, cutover);
+
+        String token = hmacToken(cutover.minusSeconds(60));
+
+        assertThrows(JWTVerificationException.class, () -> jwtUtils.validateToken(token));
+    }
+
+    @Test
+    void requiresSecretAndCutoverWhenEnabled() throws Exception {
+        JwtUtils jwtUtils = new JwtUtils(new AuthorityBitsetCodec(), keyProvider());
+        ReflectionTestUtils.setField(jwtUtils, "SECRET_USER_KEY", ISSUER);
+        ReflectionTestUtils.setField(jwtUtils, "legacyHmacEnabled", true);
+
+        assertThrows(IllegalStateException.class, jwtUtils::init);
+    }
+
+    private static JwtUtils jwtUtils(boolean legacyEnabled, Instant cutover) throws Exception {
+        JwtUtils jwtUtils = new JwtUtils(new AuthorityBitsetCodec(), keyProvider());
+        ReflectionTestUtils.setField(jwtUtils, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "SECRET_USER_KEY", ISSUER);
+        ReflectionTestUtils.setField(jwtUtils, "EXPIRATION_TIME", EXPIRATION_TIME);
+        ReflectionTestUtils.setField(jwtUtils, "legacyHmacEnabled", legacyEnabled);
+        ReflectionTestUtils.setField(jwtUtils, "legacyHmacCutover", cutover == null ? "" : cutover.toString());
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    private static JwtKeyProvider keyProvider() throws Exception {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles(JwtKeyProvider.DEV_PROFILE);
+        return new JwtKeyProvider(new DefaultResourceLoader(), environment, "", "", "");
+    }
+
+    /**
+     * Token HS256 con expiración lejana, para que solo influyan la fecha de emisión y la ventana.
+     */
+    private static String hmacToken(Instant issuedAt) {
+        return JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject("ana@aura.com")
+                .withIssuedAt(issuedAt)
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+}
@@ -0,0 +1,95 @@
+package com.clinica.aura.modules.patient.service;
+
+import com.clinica.aura.exceptions.InvalidCursorException;
+import com.clinica.aura.modules.patient.dto.CaseloadFilterDto;
+import com.clinica.aura.modules.patient.dto.PatientFilterDto;
+import com.clinica.aura.modules.patient.dto.PatientResponseDto;
+import com.clinica.aura.modules.professional.service.ProfessionalService;
+import com.clinica.aura.support.ClinicFixture;
+import com.clinica.aura.support.ServiceTestConfig;
+import com.clinica.aura.util.CursorPaginatedResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Los listados de pacientes por cursor ({@code /patients/cursor} y la cartera de un profesional,
+ * ambos por apellido) deben recorrerse completos y sin repetidos aunque una página termine en un
+ * paciente sin apellido o en uno cuyo apellido coincide con el nombre de otro orden ("id"). Un
+ * cursor no debe aceptarse en otro listado.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(ServiceTestConfig.class)
+class PatientCursorPaginationTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private ProfessionalService professionalService;
+
+    private long professionalId;
+    private List<Long> expectedOrder;
+
+    @BeforeEach
+    void setUp() {
+        ClinicFixture fixture = new ClinicFixture(dataSource);
+        professionalId = fixture.professional();
+        long id = fixture.patient("id");
+        long firstNull = fixture.patient(null);
+        long firstAcosta = fixture.patient("Acosta");
+        long secondNull = fixture.patient(null);
+        long secondAcosta = fixture.patient("Acosta");
+        long thirdNull = fixture.patient(null);
+        long jota = fixture.patient("jota");
+
+        // Sin apellido primero, luego por (apellido, id); con páginas de 2, la tercera termina en "id".
+        expectedOrder = List.of(firstNull, secondNull, thirdNull, firstAcosta, secondAcosta, id, jota);
+        expectedOrder.forEach(patientId -> fixture.assign(patientId, professionalId));
+    }
+
+    @Test
+    void walksEveryPatientOnce() {
+        assertEquals(expectedOrder, walk(cursor -> patientService.getPatientsByCursor(cursor, PAGE_SIZE, false)));
+    }
+
+    @Test
+    void walksTheCaseloadOnce() {
+        assertEquals(expectedOrder, walk(cursor -> professionalService.getPatientsByProfessionalId(
+                professionalId, new CaseloadFilterDto(), cursor, PAGE_SIZE)));
+    }
+
+    @Test
+    void filterRejectsACursorFromTheLastNameListing() {
+        String cursor = patientService.getPatientsByCursor(null, PAGE_SIZE, false).getNextCursor();
+
+        assertThrows(InvalidCursorException.class,
+                () -> patientService.filterPatients(new PatientFilterDto(), cursor, PAGE_SIZE));
+    }
+
+    private static List<Long> walk(Function<String, CursorPaginatedResponse<PatientResponseDto>> pages) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPaginatedResponse<PatientResponseDto> page = pages.apply(cursor);
+            page.getContent().forEach(patient -> ids.add(patient.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
@@ -0,0 +1,78 @@
+package com.clinica.aura.modules.patient.service;
+
+import com.clinica.aura.modules.patient.dto.PatientResponseDto;
+import com.clinica.aura.support.ClinicFixture;
+import com.clinica.aura.support.ServiceTestConfig;
+import com.clinica.aura.support.StatementCountingConfig;
+import com.clinica.aura.support.StatementCountingDataSource;
+import com.clinica.aura.util.PaginatedResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Listar pacientes debe costar siempre la misma cantidad de sentencias SQL, sin importar el tamaño
+ * de la página ni cuántos profesionales tenga asignados cada paciente.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({StatementCountingConfig.class, ServiceTestConfig.class})
+class PatientServicePageStatementsTest {
+
+    private static final int PATIENTS = 60;
+    private static final int PROFESSIONALS = 4;
+
+    @Autowired
+    private DataSource injectedDataSource;
+
+    @Autowired
+    private PatientService patientService;
+
+    private StatementCountingDataSource dataSource;
+    private final List<Long> professionalIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = (StatementCountingDataSource) injectedDataSource;
+        ClinicFixture fixture = new ClinicFixture(dataSource);
+        for (int i = 0; i < PROFESSIONALS; i++) {
+            professionalIds.add(fixture.professional());
+        }
+        for (int i = 0; i < PATIENTS; i++) {
+            long patientId = fixture.patient("Paciente" + i);
+            professionalIds.forEach(professionalId -> fixture.assign(patientId, professionalId));
+        }
+        dataSource.reset();
+    }
+
+    @Test
+    void pageCostsTheSameStatementsRegardlessOfItsSize() {
+        PaginatedResponse<PatientResponseDto> small = patientService.getAllPatients(0, 5);
+        int smallStatements = dataSource.getCount();
+
+        dataSource.reset();
+        PaginatedResponse<PatientResponseDto> large = patientService.getAllPatients(0, 50);
+        int largeStatements = dataSource.getCount();
+
+        assertEquals(5, small.getContent().size());
+        assertEquals(50, large.getContent().size());
+        assertEquals(professionalIds, large.getContent().get(0).getProfessionalIds());
+        // Una consulta para la página y otra para el total.
+        assertEquals(2, smallStatements);
+        assertEquals(2, largeStatements);
+    }
+
+    @Test
+    void cursorPageUsesASingleStatement() {
+        patientService.getPatientsByCursor(null, 50, false);
+
+        assertEquals(1, dataSource.getCount());
+    }
+}
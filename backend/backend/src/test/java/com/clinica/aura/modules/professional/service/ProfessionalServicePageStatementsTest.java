@@ -0,0 +1,101 @@
+package com.clinica.aura.modules.professional.service;
+
+import com.clinica.aura.modules.professional.dtoResponse.ProfessionalResponseDto;
+import com.clinica.aura.support.ClinicFixture;
+import com.clinica.aura.support.ServiceTestConfig;
+import com.clinica.aura.support.StatementCountingConfig;
+import com.clinica.aura.support.StatementCountingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Listar profesionales debe costar siempre la misma cantidad de sentencias SQL, sin importar
+ * cuántos pacientes tenga asignados cada uno. Los ids de pacientes, como {@code caseload_count},
+ * solo incluyen pacientes activos, también al pedir campos sueltos ({@code fields=patientIds}).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({StatementCountingConfig.class, ServiceTestConfig.class})
+class ProfessionalServicePageStatementsTest {
+
+    private static final int PROFESSIONALS = 10;
+
+    @Autowired
+    private DataSource injectedDataSource;
+
+    @Autowired
+    private ProfessionalService professionalService;
+
+    private StatementCountingDataSource dataSource;
+    private ClinicFixture fixture;
+    private final List<Long> professionalIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = (StatementCountingDataSource) injectedDataSource;
+        fixture = new ClinicFixture(dataSource);
+        for (int i = 0; i < PROFESSIONALS; i++) {
+            professionalIds.add(fixture.professional());
+        }
+    }
+
+    @Test
+    void pageCostsTheSameStatementsAsCaseloadsGrow() {
+        assignPatientsToEveryProfessional(1);
+        dataSource.reset();
+        Page<ProfessionalResponseDto> small = professionalService.getProfessionalsPaginated(0, PROFESSIONALS);
+        int smallStatements = dataSource.getCount();
+
+        assignPatientsToEveryProfessional(40);
+        dataSource.reset();
+        Page<ProfessionalResponseDto> large = professionalService.getProfessionalsPaginated(0, PROFESSIONALS);
+        int largeStatements = dataSource.getCount();
+
+        assertEquals(1, small.getContent().get(0).getPatientIds().size());
+        assertEquals(41, large.getContent().get(0).getPatientIds().size());
+        // Una consulta para la página y otra para el total.
+        assertEquals(2, smallStatements);
+        assertEquals(2, largeStatements);
+    }
+
+    @Test
+    void patientIdsExcludeDeletedPatients() {
+        List<Long> firstCaseload = assignPatientsToEveryProfessional(3);
+        fixture.deletePatient(firstCaseload.get(1));
+
+        ProfessionalResponseDto first = professionalService.getProfessionalsPaginated(0, 1).getContent().get(0);
+        Map<?, ?> sparse = (Map<?, ?>) professionalService.getProfessionalsPaginated(0, 1, "id,patientIds")
+                .getContent().get(0);
+
+        List<Long> expected = List.of(firstCaseload.get(0), firstCaseload.get(2));
+        assertEquals(expected, first.getPatientIds());
+        assertEquals(expected, sparse.get("patientIds"));
+    }
+
+    /**
+     * @return los pacientes asignados al primer profesional
+     */
+    private List<Long> assignPatientsToEveryProfessional(int patientsPerProfessional) {
+        List<Long> firstCaseload = new ArrayList<>();
+        for (long professionalId : professionalIds) {
+            for (int i = 0; i < patientsPerProfessional; i++) {
+                long patientId = fixture.patient("Paciente");
+                fixture.assign(patientId, professionalId);
+                if (professionalId == professionalIds.get(0)) {
+                    firstCaseload.add(patientId);
+                }
+            }
+        }
+        return firstCaseload;
+    }
+}
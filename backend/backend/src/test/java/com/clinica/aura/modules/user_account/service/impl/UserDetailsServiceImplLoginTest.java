@@ -0,0 +1,168 @@
+package com.clinica.aura.modules.user_account.service.impl;
+
+import com.clinica.aura.config.jwt.JwtUtils;
+import com.clinica.aura.config.jwt.JwtVerificationCache;
+import com.clinica.aura.config.jwt.TokenRevocationList;
+import com.clinica.aura.config.password.PasswordEncoderProfiles;
+import com.clinica.aura.modules.person.model.PersonModel;
+import com.clinica.aura.modules.person.repository.PersonRepository;
+import com.clinica.aura.modules.professional.repository.ProfessionalRepository;
+import com.clinica.aura.modules.user_account.Enum.EnumRole;
+import com.clinica.aura.modules.user_account.dtoRequest.AuthLoginRequestDto;
+import com.clinica.aura.modules.user_account.dtoResponse.AuthResponseDto;
+import com.clinica.aura.modules.user_account.models.PermissionModel;
+import com.clinica.aura.modules.user_account.models.RoleModel;
+import com.clinica.aura.modules.user_account.models.UserModel;
+import com.clinica.aura.modules.user_account.repository.RoleRepository;
+import com.clinica.aura.modules.user_account.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * El login debe resolverse con una única sentencia SQL ({@code UserRepository.findCredentialsByEmail}),
+ * sin importar cuántos roles tenga el usuario: las autoridades salen de {@link AuthorityRegistry}.
+ * El claim {@code pid} solo se emite si la persona tiene un profesional activo.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserDetailsServiceImplLoginTest {
+
+    private static final String PASSWORD = "secreta123";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private JwtUtils jwtUtils;
+    private UserDetailsServiceImpl userDetailsService;
+    private Statistics statistics;
+    private Long activeProfessionalId;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder passwordEncoder = PasswordEncoderProfiles.delegating(PasswordEncoderProfiles.BCRYPT_10);
+
+        PermissionModel read = entityManager.persist(PermissionModel.builder().name("READ").build());
+        PermissionModel update = entityManager.persist(PermissionModel.builder().name("UPDATE").build());
+        RoleModel professional = new RoleModel(EnumRole.PROFESSIONAL);
+        professional.setPermissions(Set.of(read, update));
+        RoleModel receptionist = new RoleModel(EnumRole.RECEPTIONIST);
+        receptionist.setPermissions(Set.of(read));
+        entityManager.persist(professional);
+        entityManager.persist(receptionist);
+
+        UserModel active = persistUser("profesional@aura.com", passwordEncoder.encode(PASSWORD), "20111222", Set.of(professional));
+        UserModel deleted = persistUser("multirol@aura.com", passwordEncoder.encode(PASSWORD), "20333444", Set.of(professional, receptionist));
+        entityManager.flush();
+        activeProfessionalId = active.getPerson().getId();
+        persistProfessional(activeProfessionalId, false);
+        persistProfessional(deleted.getPerson().getId(), true);
+        entityManager.clear();
+
+        AuthorityRegistry authorityRegistry = new AuthorityRegistry(roleRepository);
+        authorityRegistry.reload();
+
+        jwtUtils = mock(JwtUtils.class);
+        when(jwtUtils.generateJwtToken(any(), anyLong(), any())).thenReturn("token");
+
+        userDetailsService = new UserDetailsServiceImpl(
+                passwordEncoder,
+                userRepository,
+                jwtUtils,
+                roleRepository,
+                mock(ProfessionalRepository.class),
+                mock(PersonRepository.class),
+                mock(JwtVerificationCache.class),
+                mock(TokenRevocationList.class),
+                authorityRegistry,
+                mock(SuspendedUserRegistry.class),
+                mock(UserProfileCache.class));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loginUsesASingleStatement() {
+        AuthResponseDto response = userDetailsService.loginUser(new AuthLoginRequestDto("profesional@aura.com", PASSWORD));
+
+        assertEquals("token", response.getToken());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void loginWithSeveralRolesUsesASingleStatement() {
+        userDetailsService.loginUser(new AuthLoginRequestDto("multirol@aura.com", PASSWORD));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void loginCarriesTheIdOfAnActiveProfessional() {
+        userDetailsService.loginUser(new AuthLoginRequestDto("profesional@aura.com", PASSWORD));
+
+        verify(jwtUtils).generateJwtToken(any(), anyLong(), eq(activeProfessionalId));
+    }
+
+    @Test
+    void loginOmitsTheIdOfADeletedProfessional() {
+        userDetailsService.loginUser(new AuthLoginRequestDto("multirol@aura.com", PASSWORD));
+
+        verify(jwtUtils).generateJwtToken(any(), anyLong(), isNull());
+    }
+
+    private UserModel persistUser(String email, String password, String dni, Set<RoleModel> roles) {
+        PersonModel person = PersonModel.builder().dni(dni).name("Ana").lastName("Pérez").build();
+        UserModel user = UserModel.builder()
+                .email(email)
+                .password(password)
+                .person(person)
+                .roles(roles)
+                .build();
+        return entityManager.persist(user);
+    }
+
+    private void persistProfessional(Long personId, boolean deleted) {
+        entityManager.getEntityManager()
+                .createNativeQuery("INSERT INTO professional (id, license_number, deleted) VALUES (?, ?, ?)")
+                .setParameter(1, personId)
+                .setParameter(2, "MP-" + personId)
+                .setParameter(3, deleted)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,55 @@
+package com.clinica.aura.modules.user_account.service.impl;
+
+import com.clinica.aura.config.JacksonConfig;
+import com.clinica.aura.config.notification.NotificationPublisher;
+import com.clinica.aura.modules.user_account.dtoResponse.UserMeResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * El ETag del perfil depende solo de su contenido: coincide entre instancias (o después de
+ * reiniciar) y cambia cuando cambia el perfil.
+ */
+class UserProfileCacheTest {
+
+    @Test
+    void etagIsTheSameOnEveryInstanceForTheSameProfile() {
+        String first = newCache().get(1L, id -> loaded("Ana")).etag();
+        String second = newCache().get(1L, id -> loaded("Ana")).etag();
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void etagChangesWhenTheProfileChanges() {
+        UserProfileCache cache = newCache();
+        String before = cache.get(1L, id -> loaded("Ana")).etag();
+
+        cache.handle("user\t1");
+        String after = cache.get(1L, id -> loaded("Ana María")).etag();
+
+        assertNotEquals(before, after);
+    }
+
+    private static UserProfileCache newCache() {
+        return new UserProfileCache(new JacksonConfig().objectMapper(), mock(NotificationPublisher.class),
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    private static UserProfileCache.LoadedProfile loaded(String name) {
+        return new UserProfileCache.LoadedProfile(10L, UserMeResponseDto.builder()
+                .id(1L)
+                .email("ana@aura.com")
+                .name(name)
+                .lastName("Pérez")
+                .roles(List.of("PROFESSIONAL"))
+                .build());
+    }
+}
@@ -0,0 +1,76 @@
+package com.clinica.aura.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Datos de prueba insertados con SQL directo, sin pasar por las entidades: personas, pacientes,
+ * profesionales y sus asignaciones. Los ids son consecutivos a partir de 1 y el DNI se deriva del
+ * id, de modo que cada prueba solo se ocupa de los apellidos y las relaciones que le importan.
+ * <p>
+ * Las filas quedan dentro de la transacción de la prueba y se revierten al terminar.
+ */
+public class ClinicFixture {
+
+    private static final long FIRST_DNI = 30_000_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private long nextId = 1;
+
+    public ClinicFixture(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Inserta una persona.
+     *
+     * @param lastName apellido, puede ser null
+     * @return el id de la persona
+     */
+    public long person(String lastName) {
+        long id = nextId++;
+        jdbcTemplate.update("INSERT INTO person (id, dni, name, last_name) VALUES (?, ?, ?, ?)",
+                id, String.valueOf(FIRST_DNI + id), "Nombre", lastName);
+        return id;
+    }
+
+    /**
+     * Inserta un paciente activo.
+     *
+     * @param lastName apellido, puede ser null
+     * @return el id del paciente
+     */
+    public long patient(String lastName) {
+        long id = person(lastName);
+        jdbcTemplate.update("INSERT INTO patients (id, has_insurance, deleted) VALUES (?, false, false)", id);
+        return id;
+    }
+
+    /**
+     * Inserta un profesional activo.
+     *
+     * @return el id del profesional
+     */
+    public long professional() {
+        long id = person("Profesional");
+        jdbcTemplate.update("INSERT INTO professional (id, license_number, deleted) VALUES (?, ?, false)",
+                id, "MP-" + id);
+        return id;
+    }
+
+    /**
+     * Asigna un paciente a un profesional.
+     */
+    public void assign(long patientId, long professionalId) {
+        jdbcTemplate.update("INSERT INTO professional_patient (patient_id, professional_id) VALUES (?, ?)",
+                patientId, professionalId);
+    }
+
+    /**
+     * Da de baja lógica a un paciente.
+     */
+    public void deletePatient(long patientId) {
+        jdbcTemplate.update("UPDATE patients SET deleted = true WHERE id = ?", patientId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.clinica.aura.support;
+
+import com.clinica.aura.config.PostgresSchemaInitializer;
+import com.clinica.aura.config.jwt.JwtUtils;
+import com.clinica.aura.modules.patient.repository.PatientProjectionRepository;
+import com.clinica.aura.modules.patient.repository.PatientReadRepository;
+import com.clinica.aura.modules.patient.service.PatientLookupIndex;
+import com.clinica.aura.modules.patient.service.PatientService;
+import com.clinica.aura.modules.professional.repository.ProfessionalProjectionRepository;
+import com.clinica.aura.modules.professional.repository.ProfessionalReadRepository;
+import com.clinica.aura.modules.professional.service.ProfessionalService;
+import com.clinica.aura.modules.user_account.service.impl.AuthorityRegistry;
+import com.clinica.aura.modules.user_account.service.impl.UserDetailsServiceImpl;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Agrega a un {@code @DataJpaTest} los servicios de pacientes y profesionales con sus repositorios
+ * reales (JPA y JDBC sobre H2). Solo se reemplazan por mocks las dependencias que no son de datos,
+ * así que agregar un repositorio a un servicio no obliga a tocar las pruebas.
+ */
+@TestConfiguration
+@Import({
+        PatientService.class,
+        ProfessionalService.class,
+        PatientReadRepository.class,
+        PatientProjectionRepository.class,
+        ProfessionalReadRepository.class,
+        ProfessionalProjectionRepository.class
+})
+public class ServiceTestConfig {
+
+    @Bean
+    PasswordEncoder passwordEncoder() {
+        return mock(PasswordEncoder.class);
+    }
+
+    @Bean
+    JwtUtils jwtUtils() {
+        return mock(JwtUtils.class);
+    }
+
+    @Bean
+    PostgresSchemaInitializer postgresSchemaInitializer() {
+        return mock(PostgresSchemaInitializer.class);
+    }
+
+    @Bean
+    AuthorityRegistry authorityRegistry() {
+        return mock(AuthorityRegistry.class);
+    }
+
+    @Bean
+    UserDetailsServiceImpl userDetailsService() {
+        return mock(UserDetailsServiceImpl.class);
+    }
+
+    @Bean
+    PatientLookupIndex patientLookupIndex() {
+        return mock(PatientLookupIndex.class);
+    }
+}
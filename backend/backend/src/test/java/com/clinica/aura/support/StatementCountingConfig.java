@@ -0,0 +1,28 @@
+package com.clinica.aura.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el {@link DataSource} de la prueba en un {@link StatementCountingDataSource}, de modo que
+ * JPA, los {@code JdbcTemplate} y la transacción de la prueba compartan la misma conexión contada.
+ */
+@TestConfiguration
+public class StatementCountingConfig {
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.clinica.aura.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Las listas no deben depender del tipo de arreglo que devuelve cada driver.
+ */
+class SqlArraysTest {
+
+    @Test
+    void convertsAnyNumericArrayToLongs() throws SQLException {
+        Array array = mock(Array.class);
+        when(array.getArray()).thenReturn(new Object[]{1, 2L, (short) 3});
+
+        assertEquals(List.of(1L, 2L, 3L), SqlArrays.toLongList(array));
+        verify(array).free();
+    }
+
+    @Test
+    void convertsAnyArrayToStrings() throws SQLException {
+        Array array = mock(Array.class);
+        when(array.getArray()).thenReturn(new Object[]{"polen", "maní"});
+
+        assertEquals(List.of("polen", "maní"), SqlArrays.toStringList(array));
+        verify(array).free();
+    }
+
+    @Test
+    void nullArrayIsAnEmptyList() throws SQLException {
+        assertEquals(List.of(), SqlArrays.toLongList(null));
+        assertEquals(List.of(), SqlArrays.toStringList(null));
+    }
+}